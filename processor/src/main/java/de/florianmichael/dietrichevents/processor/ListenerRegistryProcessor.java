@@ -0,0 +1,381 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * This annotation processor generates a ListenerRegistry for every class which is implementing a listener type or declaring methods annotated
+ * with Subscribe, so DietrichEvents doesn't need any reflection to subscribe objects of these classes. The registry contains the same listener types
+ * the runtime would find and binds the annotated methods with lambdas. Classes which can't be fully accessed from a generated class in
+ * their package, e.g. private nested classes or private annotated methods, are skipped and still handled with reflection at runtime.
+ * The processor has to see every class, since listener types don't need an annotation, so it never claims any annotation,
+ * Subscribe is claimed by {@link de.florianmichael.dietrichevents.processor.ListenerRegistryProcessor.SubscribeProcessor} instead.
+ */
+@SupportedAnnotationTypes("*")
+public class ListenerRegistryProcessor extends AbstractProcessor {
+
+    private static final String LISTENER = "de.florianmichael.dietrichevents.handle.Listener";
+    private static final String SUBSCRIBE = "de.florianmichael.dietrichevents.handle.Subscribe";
+    private static final String LISTENER_REGISTRY = "de.florianmichael.dietrichevents.handle.ListenerRegistry";
+    private static final String METHOD_BINDING = "de.florianmichael.dietrichevents.handle.MethodBinding";
+    private static final String SUFFIX = "$DietrichEventsRegistry";
+
+    private Elements elements;
+    private Types types;
+    private TypeElement listener;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        this.elements = this.processingEnv.getElementUtils();
+        this.types = this.processingEnv.getTypeUtils();
+        this.listener = this.elements.getTypeElement(LISTENER);
+        if (this.listener == null) return false; // DietrichEvents is not on the classpath
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            this.processType(type);
+        }
+        return false;
+    }
+
+    /**
+     * Generates the registry of the given class and all of its nested classes.
+     *
+     * @param type The class
+     */
+    private void processType(final TypeElement type) {
+        for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            this.processType(nestedType);
+        }
+        if (!type.getKind().isClass()) return;
+
+        final PackageElement packageElement = this.elements.getPackageOf(type);
+        final List<TypeElement> listenerTypes = this.getListenerTypes(type);
+        final List<Binding> bindings = this.getBindings(type);
+        if (listenerTypes.isEmpty() && (bindings == null || bindings.isEmpty())) return;
+
+        if (!this.isAccessible(type, packageElement)) return;
+        for (TypeElement listenerType : listenerTypes) {
+            if (!this.isAccessible(listenerType, packageElement)) return;
+        }
+        try {
+            this.writeRegistry(type, packageElement, listenerTypes, bindings);
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate the listener registry: " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Collects all listener types of the given class in the same order as the runtime, see ListenerTypes.
+     *
+     * @param type The class
+     * @return The listener types
+     */
+    private List<TypeElement> getListenerTypes(final TypeElement type) {
+        final Set<TypeElement> listenerTypes = new LinkedHashSet<>();
+        for (TypeElement current = type; current != null; current = this.getSuperclass(current)) {
+            for (TypeMirror classInterface : current.getInterfaces()) {
+                this.collect((TypeElement) this.types.asElement(classInterface), true, listenerTypes);
+            }
+        }
+        return new ArrayList<>(listenerTypes);
+    }
+
+    private void collect(final TypeElement classInterface, final boolean declared, final Set<TypeElement> listenerTypes) {
+        if (!this.types.isAssignable(this.types.erasure(classInterface.asType()), this.types.erasure(this.listener.asType()))) return;
+        if (classInterface.equals(this.listener) && !declared) return;
+
+        if (listenerTypes.add(classInterface)) {
+            for (TypeMirror superInterface : classInterface.getInterfaces()) {
+                this.collect((TypeElement) this.types.asElement(superInterface), false, listenerTypes);
+            }
+        }
+    }
+
+    /**
+     * Collects all annotated methods of the given class in the same order as the runtime, see MethodListeners. Invalid methods are reported as errors.
+     *
+     * @param type The class
+     * @return The bindings, or null if one of the methods can't be called from the generated registry
+     */
+    private List<Binding> getBindings(final TypeElement type) {
+        final PackageElement packageElement = this.elements.getPackageOf(type);
+        final List<Binding> bindings = new ArrayList<>();
+        final Set<String> signatures = new HashSet<>();
+        boolean accessible = true;
+        for (TypeElement current = type; current != null; current = this.getSuperclass(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                final AnnotationMirror subscribe = this.getSubscribe(method);
+                if (subscribe == null) continue;
+
+                final boolean privateMethod = method.getModifiers().contains(Modifier.PRIVATE);
+                if (!privateMethod && !signatures.add(this.getSignature(method))) continue;
+
+                final Binding binding = this.createBinding(method, subscribe);
+                if (binding == null) continue;
+
+                accessible &= !privateMethod && this.isAccessible(method, packageElement) && this.isAccessible(binding.listenerType, packageElement);
+                bindings.add(binding);
+            }
+        }
+        return accessible ? bindings : null;
+    }
+
+    /**
+     * @param method The annotated method
+     * @param subscribe The annotation
+     * @return The binding of the method, or null if the method is invalid, which is reported as an error
+     */
+    private Binding createBinding(final ExecutableElement method, final AnnotationMirror subscribe) {
+        TypeElement listenerType = null;
+        int priority = 0;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : this.elements.getElementValuesWithDefaults(subscribe).entrySet()) {
+            final String name = entry.getKey().getSimpleName().toString();
+            if (name.equals("value")) {
+                listenerType = (TypeElement) this.types.asElement((TypeMirror) entry.getValue().getValue());
+            } else if (name.equals("priority")) {
+                priority = (Integer) entry.getValue().getValue();
+            }
+        }
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            return this.error(method, "@Subscribe methods have to be non-static");
+        }
+        if (listenerType == null || listenerType.getKind() != ElementKind.INTERFACE) {
+            return this.error(method, "The listener type of a @Subscribe method has to be an interface");
+        }
+        ExecutableElement listenerMethod = null;
+        for (ExecutableElement member : ElementFilter.methodsIn(this.elements.getAllMembers(listenerType))) {
+            if (!member.getModifiers().contains(Modifier.ABSTRACT)) continue;
+            if (listenerMethod != null) {
+                return this.error(method, listenerType.getQualifiedName() + " has more than one abstract method");
+            }
+            listenerMethod = member;
+        }
+        if (listenerMethod == null) {
+            return this.error(method, listenerType.getQualifiedName() + " has no abstract method");
+        }
+        final List<? extends VariableElement> parameters = method.getParameters();
+        final List<? extends VariableElement> listenerParameters = listenerMethod.getParameters();
+        boolean compatible = parameters.size() == listenerParameters.size();
+        for (int i = 0; i < parameters.size() && compatible; i++) {
+            final TypeMirror parameterType = this.types.erasure(parameters.get(i).asType());
+            final TypeMirror listenerParameterType = this.types.erasure(listenerParameters.get(i).asType());
+            compatible = parameterType.getKind().isPrimitive() ? this.types.isSameType(parameterType, listenerParameterType) : this.types.isAssignable(listenerParameterType, parameterType);
+        }
+        if (!compatible) {
+            return this.error(method, method.getSimpleName() + " doesn't match the parameters of " + listenerType.getQualifiedName() + "#" + listenerMethod.getSimpleName());
+        }
+        return new Binding(method, listenerType, priority);
+    }
+
+    private Binding error(final ExecutableElement method, final String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, method);
+        return null;
+    }
+
+    private AnnotationMirror getSubscribe(final ExecutableElement method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(SUBSCRIBE)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private String getSignature(final ExecutableElement method) {
+        final StringBuilder signature = new StringBuilder(method.getSimpleName());
+        for (VariableElement parameter : method.getParameters()) {
+            signature.append(',').append(this.types.erasure(parameter.asType()));
+        }
+        return signature.toString();
+    }
+
+    private TypeElement getSuperclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) return null;
+
+        return (TypeElement) this.types.asElement(superclass);
+    }
+
+    /**
+     * @param element The element
+     * @param packageElement The package of the generated registry
+     * @return true if the element and all elements enclosing it can be accessed from the given package
+     */
+    private boolean isAccessible(final Element element, final PackageElement packageElement) {
+        for (Element current = element; current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            final Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!modifiers.contains(Modifier.PUBLIC) && !this.elements.getPackageOf(current).equals(packageElement)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the registry of the given class, which is a top level class in the same package named after the binary name of the class.
+     *
+     * @param type The class
+     * @param packageElement The package of the class
+     * @param listenerTypes The listener types of the class
+     * @param bindings The annotated methods of the class, or null if they have to be bound at runtime
+     */
+    private void writeRegistry(final TypeElement type, final PackageElement packageElement, final List<TypeElement> listenerTypes, final List<Binding> bindings) throws IOException {
+        final String packageName = packageElement.getQualifiedName().toString();
+        final String binaryName = this.elements.getBinaryName(type).toString();
+        final String registryName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        final String typeName = this.getTypeName(type);
+
+        try (PrintWriter writer = new PrintWriter(this.processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? registryName : packageName + "." + registryName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("/**");
+            writer.println(" * Generated by the DietrichEvents annotation processor for {@link " + type.getQualifiedName() + "}, do not edit.");
+            writer.println(" */");
+            // The arguments of the listeners are cast to the erased parameter types, see getListener
+            writer.println("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"cast\", \"deprecation\"})");
+            writer.println("public final class " + registryName + " implements " + LISTENER_REGISTRY + "<" + typeName + "> {");
+            writer.println();
+            writer.println("    private static final java.util.List<java.lang.Class<? extends " + LISTENER + ">> LISTENER_TYPES;");
+            writer.println("    private static final java.util.List<" + METHOD_BINDING + "<" + typeName + ">> METHOD_BINDINGS;");
+            writer.println();
+            writer.println("    static {");
+            writer.println("        final java.util.List<java.lang.Class<? extends " + LISTENER + ">> listenerTypes = new java.util.ArrayList<>();");
+            for (TypeElement listenerType : listenerTypes) {
+                writer.println("        listenerTypes.add(" + listenerType.getQualifiedName() + ".class);");
+            }
+            writer.println("        LISTENER_TYPES = java.util.Collections.unmodifiableList(listenerTypes);");
+            if (bindings == null) {
+                writer.println("        METHOD_BINDINGS = null;");
+            } else {
+                writer.println("        final java.util.List<" + METHOD_BINDING + "<" + typeName + ">> methodBindings = new java.util.ArrayList<>();");
+                for (Binding binding : bindings) {
+                    writer.println("        methodBindings.add(new " + METHOD_BINDING + "<" + typeName + ">(" + binding.listenerType.getQualifiedName() + ".class, "
+                            + binding.priority + ", target -> " + this.getListener(type, binding) + "));");
+                }
+                writer.println("        METHOD_BINDINGS = java.util.Collections.unmodifiableList(methodBindings);");
+            }
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public java.util.List<java.lang.Class<? extends " + LISTENER + ">> getListenerTypes() {");
+            writer.println("        return LISTENER_TYPES;");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public java.util.List<" + METHOD_BINDING + "<" + typeName + ">> getMethodBindings() {");
+            writer.println("        return METHOD_BINDINGS;");
+            writer.println("    }");
+            writer.println();
+            writer.println("}");
+        }
+    }
+
+    /**
+     * Creates a lambda of the listener type which calls exactly the annotated method of the binding. A method reference would be resolved
+     * by overload resolution again, which can pick another method of the same name, so every argument is cast to the erased parameter type instead.
+     *
+     * @param type The class
+     * @param binding The annotated method
+     * @return The source of the listener, which calls the method of the target
+     */
+    private String getListener(final TypeElement type, final Binding binding) {
+        final StringJoiner parameters = new StringJoiner(", ", "(", ")");
+        final StringJoiner arguments = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < binding.method.getParameters().size(); i++) {
+            final TypeMirror parameterType = this.types.erasure(binding.method.getParameters().get(i).asType());
+            parameters.add("p" + i);
+            arguments.add(parameterType.getKind().isPrimitive() ? "p" + i : "(" + parameterType + ") p" + i);
+        }
+        // The type parameters of the class are captured from wildcards, so the method can only be called on the raw type
+        final String target = type.getTypeParameters().isEmpty() ? "target" : "((" + type.getQualifiedName() + ") target)";
+        return "(" + binding.listenerType.getQualifiedName() + ") " + parameters + " -> " + target + "." + binding.method.getSimpleName() + arguments;
+    }
+
+    /**
+     * @param type The class
+     * @return The source name of the given class, with wildcards for all of its type parameters
+     */
+    private String getTypeName(final TypeElement type) {
+        final int typeParameters = type.getTypeParameters().size();
+        if (typeParameters == 0) return type.getQualifiedName().toString();
+
+        final StringJoiner wildcards = new StringJoiner(", ", "<", ">");
+        for (int i = 0; i < typeParameters; i++) {
+            wildcards.add("?");
+        }
+        return type.getQualifiedName() + wildcards.toString();
+    }
+
+    /**
+     * Claims Subscribe after the registries have been generated, so javac doesn't warn that no processor claimed it with -Xlint:processing.
+     * Annotations of other libraries are never claimed, since {@link de.florianmichael.dietrichevents.processor.ListenerRegistryProcessor} supports all of them.
+     */
+    @SupportedAnnotationTypes(SUBSCRIBE)
+    public static final class SubscribeProcessor extends AbstractProcessor {
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+            return true;
+        }
+
+    }
+
+    /**
+     * A method annotated with Subscribe.
+     */
+    private static final class Binding {
+
+        private final ExecutableElement method;
+        private final TypeElement listenerType;
+        private final int priority;
+
+        private Binding(final ExecutableElement method, final TypeElement listenerType, final int priority) {
+            this.method = method;
+            this.listenerType = listenerType;
+            this.priority = priority;
+        }
+
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents.processor;
+
+import de.florianmichael.dietrichevents.handle.ListenerRegistry;
+import de.florianmichael.dietrichevents.handle.MethodBinding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListenerRegistryProcessorTest {
+
+    private static final String NAME_LISTENER = String.join("\n",
+            "package p;",
+            "",
+            "public interface NameListener extends de.florianmichael.dietrichevents.handle.Listener {",
+            "    void onName(String name);",
+            "}");
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("processor");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatedRegistriesBindTheExactAnnotatedMethods() throws Exception {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = this.compile("p.NameListener", NAME_LISTENER, "p.Handlers", String.join("\n",
+                "package p;",
+                "",
+                "import de.florianmichael.dietrichevents.handle.Subscribe;",
+                "",
+                "public class Handlers implements NameListener {",
+                "",
+                "    public final java.util.List<String> calls = new java.util.ArrayList<>();",
+                "",
+                "    @Override",
+                "    public void onName(String name) { calls.add(\"listener \" + name); }",
+                "",
+                "    @Subscribe(value = NameListener.class, priority = 2)",
+                "    public void on(Object name) { calls.add(\"object \" + name); }",
+                "",
+                "    public void on(String name) { calls.add(\"string \" + name); }",
+                "",
+                "    @Deprecated",
+                "    @Subscribe(NameListener.class)",
+                "    public void deprecated(String name) { calls.add(\"deprecated \" + name); }",
+                "",
+                "    public static class Generic<T extends CharSequence> {",
+                "        @Subscribe(NameListener.class)",
+                "        public void onValue(T value) { }",
+                "    }",
+                "",
+                "}"));
+        // Also makes sure that Subscribe is claimed, javac warns about unclaimed annotations with -Xlint:processing
+        assertEquals(Collections.emptyList(), diagnostics);
+        assertTrue(Files.exists(this.directory.resolve("out/p/Handlers$Generic$DietrichEventsRegistry.class")));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{this.directory.resolve("out").toUri().toURL()}, this.getClass().getClassLoader())) {
+            final Class<?> handlers = classLoader.loadClass("p.Handlers");
+            final Class<?> nameListener = classLoader.loadClass("p.NameListener");
+            final ListenerRegistry<Object> registry = (ListenerRegistry<Object>) classLoader.loadClass("p.Handlers$DietrichEventsRegistry").getDeclaredConstructor().newInstance();
+            assertEquals(Collections.singletonList(nameListener), registry.getListenerTypes());
+
+            final List<MethodBinding<Object>> bindings = registry.getMethodBindings();
+            assertEquals(2, bindings.size());
+            assertEquals(2, bindings.get(0).getPriority());
+            assertEquals(0, bindings.get(1).getPriority());
+
+            final Object target = handlers.getDeclaredConstructor().newInstance();
+            final Method onName = nameListener.getMethod("onName", String.class);
+            for (MethodBinding<Object> binding : bindings) {
+                assertSame(nameListener, binding.getListenerType());
+                onName.invoke(binding.bind(target), "name");
+            }
+            // on(String) would be picked by a method reference, but only on(Object) is annotated
+            assertEquals(Arrays.asList("object name", "deprecated name"), handlers.getField("calls").get(target));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void inaccessibleClassesAndMethodsAreLeftToTheRuntime() throws Exception {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = this.compile("p.NameListener", NAME_LISTENER, "p.Skipped", String.join("\n",
+                "package p;",
+                "",
+                "import de.florianmichael.dietrichevents.handle.Subscribe;",
+                "",
+                "public class Skipped implements NameListener {",
+                "",
+                "    @Override",
+                "    public void onName(String name) { }",
+                "",
+                "    @Subscribe(NameListener.class)",
+                "    private void onPrivate(String name) { }",
+                "",
+                "    private static class Hidden implements NameListener {",
+                "        @Override",
+                "        public void onName(String name) { }",
+                "    }",
+                "",
+                "}"));
+        assertEquals(Collections.emptyList(), diagnostics);
+        assertFalse(Files.exists(this.directory.resolve("out/p/Skipped$Hidden$DietrichEventsRegistry.class")));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{this.directory.resolve("out").toUri().toURL()}, this.getClass().getClassLoader())) {
+            final ListenerRegistry<Object> registry = (ListenerRegistry<Object>) classLoader.loadClass("p.Skipped$DietrichEventsRegistry").getDeclaredConstructor().newInstance();
+            assertEquals(Collections.singletonList(classLoader.loadClass("p.NameListener")), registry.getListenerTypes());
+            // The private method has to be bound at runtime with a lookup of the class
+            assertNull(registry.getMethodBindings());
+        }
+    }
+
+    @Test
+    void invalidMethodsAreReported() throws IOException {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = this.compile("p.NameListener", NAME_LISTENER, "p.Invalid", String.join("\n",
+                "package p;",
+                "",
+                "import de.florianmichael.dietrichevents.handle.Subscribe;",
+                "",
+                "public class Invalid {",
+                "",
+                "    @Subscribe(NameListener.class)",
+                "    public static void onStatic(String name) { }",
+                "",
+                "    @Subscribe(NameListener.class)",
+                "    public void onInteger(Integer name) { }",
+                "",
+                "}"));
+        assertEquals(2, diagnostics.size());
+        assertSame(Diagnostic.Kind.ERROR, diagnostics.get(0).getKind());
+        assertTrue(diagnostics.get(0).getMessage(Locale.ROOT).contains("non-static"));
+        assertSame(Diagnostic.Kind.ERROR, diagnostics.get(1).getKind());
+        assertTrue(diagnostics.get(1).getMessage(Locale.ROOT).contains("onInteger doesn't match the parameters of p.NameListener#onName"));
+    }
+
+    /**
+     * Compiles the given classes with the processors which are registered in the service file, just like a build which has the processor on its processor path.
+     *
+     * @param classes The name of every class followed by its source
+     * @return All diagnostics of the compilation
+     */
+    private List<Diagnostic<? extends JavaFileObject>> compile(final String... classes) throws IOException {
+        final Path out = this.directory.resolve("out");
+        Files.createDirectories(out);
+        final List<File> sourceFiles = new ArrayList<>();
+        for (int i = 0; i < classes.length; i += 2) {
+            final Path sourceFile = this.directory.resolve("src/" + classes[i].replace('.', '/') + ".java");
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, classes[i + 1].getBytes(StandardCharsets.UTF_8));
+            sourceFiles.add(sourceFile.toFile());
+        }
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            final String classPath = System.getProperty("java.class.path");
+            compiler.getTask(null, fileManager, diagnostics, Arrays.asList("-Xlint:all", "-classpath", classPath, "-processorpath", classPath, "-d", out.toString(), "-s", out.toString()),
+                    null, fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+        }
+        return diagnostics.getDiagnostics();
+    }
+
+}
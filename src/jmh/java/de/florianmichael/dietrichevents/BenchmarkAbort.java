@@ -0,0 +1,99 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.types.BreakableEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures events which are stopped by one of the listeners, postBreakable skips all following listeners
+ * while postInternal only checks the abort state before the first listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkAbort {
+
+    private static final int LISTENERS = 16;
+
+    /**
+     * The listener which stops the event, LISTENERS means that no listener stops it
+     */
+    @Param({"0", "4", "16"})
+    private int abortAt;
+
+    private DietrichEvents eventSystem;
+
+    @Setup
+    public void setup() {
+        eventSystem = DietrichEvents.createThreadSafe();
+        for (int i = 0; i < LISTENERS; i++) {
+            final boolean abort = i == abortAt;
+            eventSystem.subscribe(AbortListener.class, (event, blackhole) -> {
+                blackhole.consume(event);
+                if (abort) {
+                    event.stopHandling();
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public AbortListener.AbortEvent postBreakable(Blackhole blackhole) {
+        return eventSystem.postBreakable(new AbortListener.AbortEvent(blackhole));
+    }
+
+    @Benchmark
+    public AbortListener.AbortEvent postInternal(Blackhole blackhole) {
+        return eventSystem.postInternal(new AbortListener.AbortEvent(blackhole));
+    }
+
+    public interface AbortListener extends Listener {
+
+        void onAbort(final AbortEvent event, final Blackhole blackhole);
+
+        class AbortEvent extends BreakableEvent<AbortListener> {
+
+            private final Blackhole blackhole;
+
+            public AbortEvent(final Blackhole blackhole) {
+                this.blackhole = blackhole;
+            }
+
+            @Override
+            public void call(AbortListener listener) {
+                listener.onAbort(this, blackhole);
+            }
+
+            @Override
+            public Class<AbortListener> getListenerType() {
+                return AbortListener.class;
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the allocations of the dispatch hot paths, the event is reused so every allocated byte comes from the event system itself.
+ * The gc.alloc.rate.norm results of this benchmark are checked against the allocation budget by the checkAllocationBudget task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkAllocation {
+
+    @Param({"default", "threadSafe"})
+    private String mode;
+
+    private DietrichEvents eventSystem;
+    private EventChannel<BenchmarkListener> channel;
+    private BenchmarkListener listener;
+    private BenchmarkListener.BenchmarkEvent event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        eventSystem = mode.equals("default") ? DietrichEvents.createDefault() : DietrichEvents.createThreadSafe();
+        for (int i = 0; i < 10; i++) {
+            final int id = i;
+            eventSystem.subscribe(BenchmarkListener.class, b -> b.consume(id), i % 3);
+        }
+        listener = b -> b.consume(this);
+        eventSystem.subscribe(BenchmarkListener.class, listener);
+        channel = eventSystem.channel(BenchmarkListener.class);
+        event = new BenchmarkListener.BenchmarkEvent(blackhole);
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postInternal() {
+        return eventSystem.postInternal(event);
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent post() {
+        return eventSystem.post(event);
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postPush() {
+        return eventSystem.postPush(event);
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postBreakable() {
+        return eventSystem.postBreakable(event);
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent channelPostInternal() {
+        return channel.postInternal(event);
+    }
+
+    @Benchmark
+    public boolean hasListeners() {
+        return eventSystem.hasListeners(BenchmarkListener.class, listener);
+    }
+
+    @Benchmark
+    public boolean hasSubscribers() {
+        return eventSystem.hasSubscribers(BenchmarkListener.class);
+    }
+
+}
@@ -30,6 +30,8 @@ public class BenchmarkCaller {
 
     private static final int ITERATIONS = 100_000;
 
+    private final EventPool<BenchmarkListener.BenchmarkEvent> eventPool = new EventPool<>(BenchmarkListener.BenchmarkEvent::new);
+
     @Setup
     public void setup() {
         DietrichEvents.global().subscribe(BenchmarkListener.class, blackhole -> blackhole.consume(Integer.bitCount(Integer.parseInt("123"))));
@@ -45,4 +47,16 @@ public class BenchmarkCaller {
         }
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Fork(value = 1, warmups = 1)
+    public void callBenchmarkListenerPooled(Blackhole blackhole) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final BenchmarkListener.BenchmarkEvent event = eventPool.acquire();
+            event.setBlackhole(blackhole);
+            DietrichEvents.global().postInternal(event);
+            eventPool.release(event);
+        }
+    }
+
 }
@@ -0,0 +1,98 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures subscribing and unsubscribing a listener while other listeners are already subscribed,
+ * both for a single listener type and for a listener class implementing multiple listener types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkChurn {
+
+    @Param({"10", "100", "1000"})
+    private int listeners;
+
+    @Param({"default", "threadSafe"})
+    private String mode;
+
+    private DietrichEvents eventSystem;
+
+    private final BenchmarkListener listener = blackhole -> blackhole.consume(this);
+    private final MultiListener multiListener = new MultiListener();
+
+    @Setup
+    public void setup() {
+        eventSystem = mode.equals("default") ? DietrichEvents.createDefault() : DietrichEvents.createThreadSafe();
+        for (int i = 0; i < listeners; i++) {
+            eventSystem.subscribeClass(new MultiListener(), i % 5);
+        }
+    }
+
+    @Benchmark
+    public void subscribeUnsubscribe() {
+        eventSystem.subscribe(BenchmarkListener.class, listener, 2);
+        eventSystem.unsubscribe(BenchmarkListener.class, listener);
+    }
+
+    @Benchmark
+    public void subscribeClassUnsubscribeClass() {
+        eventSystem.subscribeClass(multiListener, 2);
+        eventSystem.unsubscribeClass(multiListener);
+    }
+
+    public interface SecondListener extends Listener {
+
+        void onSecond();
+
+    }
+
+    public interface ThirdListener extends Listener {
+
+        void onThird();
+
+    }
+
+    public static class MultiListener implements BenchmarkListener, SecondListener, ThirdListener {
+
+        @Override
+        public void onBenchmark(Blackhole blackhole) {
+            blackhole.consume(this);
+        }
+
+        @Override
+        public void onSecond() {
+        }
+
+        @Override
+        public void onThird() {
+        }
+
+    }
+
+}
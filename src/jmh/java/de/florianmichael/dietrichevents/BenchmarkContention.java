@@ -0,0 +1,118 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of a shared event system while all threads post events and every thread regularly
+ * subscribes and unsubscribes its own listener, comparing the compare-and-set publishing of the thread-safe mode with the previous copy-on-write lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkContention {
+
+    private static final int LISTENERS = 16;
+
+    @Param({"threadSafe", "copyOnWrite"})
+    private String mode;
+
+    /**
+     * Every n-th operation of a thread is a subscribe or unsubscribe instead of a post
+     */
+    @Param({"16", "256"})
+    private int subscribeRatio;
+
+    private DietrichEvents eventSystem;
+
+    @Setup
+    public void setup() {
+        eventSystem = mode.equals("threadSafe") ? DietrichEvents.createThreadSafe() : DietrichEvents.create(new ConcurrentHashMap<>(), CopyOnWriteArrayList::new);
+        for (int i = 0; i < LISTENERS; i++) {
+            eventSystem.subscribe(BenchmarkListener.class, blackhole -> blackhole.consume(1), i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MixedState {
+
+        private final BenchmarkListener listener = blackhole -> blackhole.consume(this);
+        private boolean subscribed;
+        private int operation;
+
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void mixed01(MixedState state, Blackhole blackhole) {
+        mixed(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void mixed02(MixedState state, Blackhole blackhole) {
+        mixed(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void mixed04(MixedState state, Blackhole blackhole) {
+        mixed(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void mixed08(MixedState state, Blackhole blackhole) {
+        mixed(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void mixed16(MixedState state, Blackhole blackhole) {
+        mixed(state, blackhole);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void mixed32(MixedState state, Blackhole blackhole) {
+        mixed(state, blackhole);
+    }
+
+    private void mixed(final MixedState state, final Blackhole blackhole) {
+        if (++state.operation % subscribeRatio == 0) {
+            if (state.subscribed) {
+                eventSystem.unsubscribe(BenchmarkListener.class, state.listener);
+            } else {
+                eventSystem.subscribe(BenchmarkListener.class, state.listener, state.operation & 7);
+            }
+            state.subscribed = !state.subscribed;
+        } else {
+            eventSystem.postInternal(new BenchmarkListener.BenchmarkEvent(blackhole));
+        }
+    }
+
+}
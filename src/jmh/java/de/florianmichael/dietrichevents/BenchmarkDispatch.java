@@ -0,0 +1,74 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single post with the different post methods, listener counts and both event system modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkDispatch {
+
+    @Param({"0", "1", "10", "100", "1000"})
+    private int listeners;
+
+    @Param({"default", "threadSafe"})
+    private String mode;
+
+    private DietrichEvents eventSystem;
+
+    @Setup
+    public void setup() {
+        eventSystem = mode.equals("default") ? DietrichEvents.createDefault() : DietrichEvents.createThreadSafe();
+        for (int i = 0; i < listeners; i++) {
+            final int id = i;
+            eventSystem.subscribe(BenchmarkListener.class, blackhole -> blackhole.consume(id), i % 5);
+        }
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent post(Blackhole blackhole) {
+        return eventSystem.post(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postInternal(Blackhole blackhole) {
+        return eventSystem.postInternal(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postPush(Blackhole blackhole) {
+        return eventSystem.postPush(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkListener.BenchmarkEvent postInternalContended(Blackhole blackhole) {
+        return eventSystem.postInternal(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+}
@@ -26,12 +26,25 @@ public interface BenchmarkListener extends Listener {
 
     class BenchmarkEvent extends AbstractEvent<BenchmarkListener> {
 
-        private final Blackhole blackhole;
+        private Blackhole blackhole;
+
+        public BenchmarkEvent() {
+        }
 
         public BenchmarkEvent(final Blackhole blackhole) {
             this.blackhole = blackhole;
         }
 
+        public void setBlackhole(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            this.blackhole = null;
+        }
+
         @Override
         public void call(BenchmarkListener listener) {
             listener.onBenchmark(blackhole);
@@ -0,0 +1,90 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Subscribe;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a post to hand-written listeners with a post to methods subscribed with {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object)},
+ * both should be equally fast since the methods are bound into listener implementations. Also measures subscribing and unsubscribing an object with annotated methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkMethods {
+
+    @Param({"1", "10", "100"})
+    private int listeners;
+
+    private DietrichEvents listenerSystem;
+    private DietrichEvents methodSystem;
+    private DietrichEvents churnSystem;
+
+    @Setup
+    public void setup() {
+        listenerSystem = DietrichEvents.createThreadSafe();
+        methodSystem = DietrichEvents.createThreadSafe();
+        churnSystem = DietrichEvents.createThreadSafe();
+        for (int i = 0; i < listeners; i++) {
+            final int id = i;
+            listenerSystem.subscribe(BenchmarkListener.class, blackhole -> blackhole.consume(id));
+            methodSystem.subscribeMethods(new MethodHolder(id));
+        }
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postListeners(Blackhole blackhole) {
+        return listenerSystem.postInternal(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postMethods(Blackhole blackhole) {
+        return methodSystem.postInternal(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+    @Benchmark
+    public void subscribeUnsubscribeMethods() {
+        final MethodHolder holder = new MethodHolder(0);
+        churnSystem.subscribeMethods(holder);
+        churnSystem.unsubscribeMethods(holder);
+    }
+
+    public static class MethodHolder {
+
+        private final int id;
+
+        public MethodHolder(final int id) {
+            this.id = id;
+        }
+
+        @Subscribe(BenchmarkListener.class)
+        public void onBenchmark(final Blackhole blackhole) {
+            blackhole.consume(id);
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Subscription;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a heavy event with many expensive independent listeners, called one after another with postInternal and in parallel with postInternalParallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkParallel {
+
+    @Param({"8", "32"})
+    private int listeners;
+
+    /**
+     * The cpu work of every listener, see {@link org.openjdk.jmh.infra.Blackhole#consumeCPU(long)}
+     */
+    @Param({"1000", "100000"})
+    private long work;
+
+    private DietrichEvents eventSystem;
+
+    @Setup
+    public void setup() {
+        eventSystem = DietrichEvents.createThreadSafe();
+        for (int i = 0; i < listeners; i++) {
+            eventSystem.subscribeInternal(BenchmarkListener.class, new Subscription<BenchmarkListener>(blackhole -> Blackhole.consumeCPU(work)).setIndependent(true));
+        }
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postInternal(Blackhole blackhole) {
+        return eventSystem.postInternal(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+    @Benchmark
+    public BenchmarkListener.BenchmarkEvent postInternalParallel(Blackhole blackhole) {
+        return eventSystem.postInternalParallel(new BenchmarkListener.BenchmarkEvent(blackhole));
+    }
+
+}
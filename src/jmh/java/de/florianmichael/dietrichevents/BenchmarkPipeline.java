@@ -0,0 +1,75 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.WaitStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures handing events from producer threads to the stage thread of an {@link de.florianmichael.dietrichevents.EventPipeline}, which posts them to the event system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkPipeline {
+
+    @Param({"BUSY_SPIN", "YIELD", "PARK"})
+    private WaitStrategy waitStrategy;
+
+    private EventPipeline<BenchmarkListener.BenchmarkEvent> pipeline;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        final DietrichEvents eventSystem = DietrichEvents.createThreadSafe();
+        eventSystem.subscribe(BenchmarkListener.class, b -> b.consume(1));
+        pipeline = new EventPipeline<>(eventSystem, BenchmarkListener.BenchmarkEvent::new, 4096, waitStrategy);
+        pipeline.start();
+        this.blackhole = blackhole;
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publish1() {
+        publish();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publish4() {
+        publish();
+    }
+
+    private void publish() {
+        final long sequence = pipeline.next();
+        pipeline.get(sequence).setBlackhole(blackhole);
+        pipeline.publish(sequence);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.EventStateType;
+import de.florianmichael.dietrichevents.handle.Listener;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a tick of all five {@link de.florianmichael.dietrichevents.enums.EventStateType} phases, where every listener only cares about a single phase.
+ * The unkeyed variant calls every listener for every phase and branches inside the listener, the keyed variant subscribes every listener with its phase as routing key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, warmups = 1)
+public class BenchmarkRouting {
+
+    private static final EventStateType[] PHASES = EventStateType.values();
+
+    @Param({"5", "50"})
+    private int listenersPerPhase;
+
+    private DietrichEvents unkeyed;
+    private DietrichEvents keyed;
+
+    @Setup
+    public void setup() {
+        unkeyed = DietrichEvents.createThreadSafe();
+        keyed = DietrichEvents.createThreadSafe();
+        for (EventStateType phase : PHASES) {
+            for (int i = 0; i < listenersPerPhase; i++) {
+                unkeyed.subscribe(PhaseListener.class, (stateType, blackhole) -> {
+                    if (stateType == phase) {
+                        blackhole.consume(phase);
+                    }
+                });
+                keyed.subscribe(PhaseListener.class, (stateType, blackhole) -> blackhole.consume(phase), phase);
+            }
+        }
+    }
+
+    @Benchmark
+    public void unkeyedTick(Blackhole blackhole) {
+        for (EventStateType phase : PHASES) {
+            unkeyed.postInternal(new PhaseListener.PhaseEvent(phase, blackhole));
+        }
+    }
+
+    @Benchmark
+    public void keyedTick(Blackhole blackhole) {
+        for (EventStateType phase : PHASES) {
+            keyed.postInternal(new PhaseListener.PhaseEvent(phase, blackhole));
+        }
+    }
+
+    public interface PhaseListener extends Listener {
+
+        void onPhase(final EventStateType stateType, final Blackhole blackhole);
+
+        class PhaseEvent extends AbstractEvent<PhaseListener> {
+
+            private final EventStateType stateType;
+            private final Blackhole blackhole;
+
+            public PhaseEvent(final EventStateType stateType, final Blackhole blackhole) {
+                this.stateType = stateType;
+                this.blackhole = blackhole;
+            }
+
+            @Override
+            public int getRoutingKey() {
+                return stateType.ordinal();
+            }
+
+            @Override
+            public void call(PhaseListener listener) {
+                listener.onPhase(stateType, blackhole);
+            }
+
+            @Override
+            public Class<PhaseListener> getListenerType() {
+                return PhaseListener.class;
+            }
+
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@
 package de.florianmichael.dietrichevents;
 
 import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.Subscription;
 
 /**
  * This class represents a basic event. It is used to call the event on the listener.
@@ -26,6 +27,12 @@ import de.florianmichael.dietrichevents.handle.Listener;
  */
 public abstract class AbstractEvent<L extends Listener> {
 
+    /**
+     * Set for events of an {@link de.florianmichael.dietrichevents.EventPool} or {@link de.florianmichael.dietrichevents.EventPipeline}, which are reset
+     * right after they have been posted, so they are never handed to asynchronous listeners that could still be running at that point.
+     */
+    boolean reusable;
+
     /**
      * @return true if the event should be aborted
      */
@@ -33,6 +40,23 @@ public abstract class AbstractEvent<L extends Listener> {
         return false;
     }
 
+    /**
+     * Events with a routing key are only dispatched to the listeners which have been subscribed with the same key and the listeners without a key,
+     * see {@link de.florianmichael.dietrichevents.handle.Subscription#setRoutingKey(int)}. Enum keys are represented by their ordinal.
+     *
+     * @return The routing key of the event, or {@link de.florianmichael.dietrichevents.handle.Subscription#NO_ROUTING_KEY} if it has no key
+     */
+    public int getRoutingKey() {
+        return Subscription.NO_ROUTING_KEY;
+    }
+
+    /**
+     * Resets the state of the event, so it can be posted again. This is called by {@link de.florianmichael.dietrichevents.EventPool#release(AbstractEvent)}
+     * and should be overridden by reusable events which have mutable state, overriding methods have to call the super method.
+     */
+    public void reset() {
+    }
+
     /**
      * @param listener The listener to call the event on, should be implemented by the user
      */
@@ -0,0 +1,95 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a queue of tasks that run one after another on a delegate {@link java.util.concurrent.Executor}.
+ * Every {@link de.florianmichael.dietrichevents.EventChannel} has its own lane, so asynchronous events of a listener type are
+ * always dispatched in the order they were posted, while different listener types can run in parallel.
+ */
+final class AsyncLane {
+
+    private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Supplier<Executor> executor;
+
+    AsyncLane(final Supplier<Executor> executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queues the given task, if the delegate executor rejects the lane, the task and all other queued tasks are removed
+     * and passed to their rejection handlers instead of running with the next task that is accepted.
+     *
+     * @param task The task to run
+     * @param rejectionHandler Called with the exception of the delegate executor if the task is rejected
+     */
+    void execute(final Runnable task, final Consumer<RejectedExecutionException> rejectionHandler) {
+        this.tasks.add(new Task(task, rejectionHandler));
+        this.schedule();
+    }
+
+    private void schedule() {
+        if (this.tasks.isEmpty() || !this.running.compareAndSet(false, true)) return;
+
+        try {
+            this.executor.get().execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            Task task;
+            while ((task = this.tasks.poll()) != null) {
+                task.rejectionHandler.accept(e);
+            }
+            this.running.set(false);
+            // Tasks which have been queued while the lane was still marked as running are scheduled again
+            this.schedule();
+        }
+    }
+
+    private void drain() {
+        try {
+            Task task;
+            while ((task = this.tasks.poll()) != null) {
+                task.task.run();
+            }
+        } finally {
+            this.running.set(false);
+            this.schedule();
+        }
+    }
+
+    private static final class Task {
+
+        private final Runnable task;
+        private final Consumer<RejectedExecutionException> rejectionHandler;
+
+        private Task(final Runnable task, final Consumer<RejectedExecutionException> rejectionHandler) {
+            this.task = task;
+            this.rejectionHandler = rejectionHandler;
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.types.CoalescingEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class represents the buffer of coalesced events of a {@link de.florianmichael.dietrichevents.DietrichEvents} instance.
+ * Events are kept in the order their key has been buffered first, merging an event keeps the position of the earlier event.
+ */
+final class CoalescingBuffer {
+
+    private Map<Key, CoalescingEvent<?>> events = new LinkedHashMap<>();
+
+    /**
+     * Buffers the given event or merges it with the buffered event of the same key.
+     *
+     * @param event The event
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    synchronized void add(final CoalescingEvent<?> event) {
+        this.events.merge(new Key(event.getListenerType(), event.getCoalescingKey()), event, (previous, added) -> ((CoalescingEvent) added).merge(previous));
+    }
+
+    /**
+     * Removes all buffered events, events which are added while the returned events are dispatched are kept for the next call.
+     *
+     * @return The buffered events in their order
+     */
+    synchronized List<CoalescingEvent<?>> drain() {
+        if (this.events.isEmpty()) return Collections.emptyList();
+
+        final List<CoalescingEvent<?>> events = new ArrayList<>(this.events.values());
+        this.events = new LinkedHashMap<>();
+        return events;
+    }
+
+    private static final class Key {
+
+        private final Class<?> listenerType;
+        private final Object coalescingKey;
+
+        private Key(final Class<?> listenerType, final Object coalescingKey) {
+            this.listenerType = listenerType;
+            this.coalescingKey = coalescingKey;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) return false;
+
+            final Key key = (Key) o;
+            return this.listenerType == key.listenerType && Objects.equals(this.coalescingKey, key.coalescingKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.listenerType.hashCode() + Objects.hashCode(this.coalescingKey);
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class represents a bounded lock-free queue of events backed by preallocated arrays, so queueing an event doesn't allocate anything.
+ * Every slot has a sequence number which tells producers and consumers whose turn it is, a producer claims a slot with a single compare-and-set
+ * on the enqueue position and publishes the event by advancing the sequence of the slot. Consumers work the same way on the dequeue position,
+ * which allows producers to remove the oldest event for {@link de.florianmichael.dietrichevents.enums.BackpressurePolicy#DROP_OLDEST}.
+ */
+final class DeferredQueue {
+
+    private final AtomicReferenceArray<AbstractEvent<?>> events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    /**
+     * @param capacity The capacity, which is rounded up to the next power of two and at least 2, with a single slot
+     *                 the sequence of a filled slot would be the same as the next enqueue position
+     */
+    DeferredQueue(final int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+
+        final int size = capacity <= 2 ? 2 : Integer.highestOneBit((capacity - 1) << 1);
+        this.events = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param event The event to queue
+     * @return false if the queue is full
+     */
+    boolean offer(final AbstractEvent<?> event) {
+        long position = this.enqueuePosition.get();
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.enqueuePosition.compareAndSet(position, position + 1)) {
+                    this.events.lazySet(index, event);
+                    this.sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            position = this.enqueuePosition.get();
+        }
+    }
+
+    /**
+     * @return The oldest event, or null if the queue is empty
+     */
+    AbstractEvent<?> poll() {
+        long position = this.dequeuePosition.get();
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (this.dequeuePosition.compareAndSet(position, position + 1)) {
+                    final AbstractEvent<?> event = this.events.get(index);
+                    this.events.lazySet(index, null);
+                    this.sequences.lazySet(index, position + this.mask + 1);
+                    return event;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+            position = this.dequeuePosition.get();
+        }
+    }
+
+    /**
+     * @return The capacity of the queue
+     */
+    int capacity() {
+        return this.mask + 1;
+    }
+
+}
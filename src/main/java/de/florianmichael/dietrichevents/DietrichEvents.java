@@ -17,12 +17,24 @@
 
 package de.florianmichael.dietrichevents;
 
+import de.florianmichael.dietrichevents.enums.BackpressurePolicy;
+import de.florianmichael.dietrichevents.enums.DispatchOrder;
 import de.florianmichael.dietrichevents.handle.Listener;
 import de.florianmichael.dietrichevents.handle.Subscription;
+import de.florianmichael.dietrichevents.metrics.MetricsSink;
+import de.florianmichael.dietrichevents.types.CoalescingEvent;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.*;
 
 public class DietrichEvents {
@@ -33,19 +45,70 @@ public class DietrichEvents {
         return GLOBAL;
     }
 
+    /**
+     * The subscription lists of every listener type, both are null if the instance publishes with compare-and-set, see {@link de.florianmichael.dietrichevents.DietrichEvents#createThreadSafe()}.
+     * In that case the sorted subscriptions of each {@link de.florianmichael.dietrichevents.EventChannel} are the only state and are replaced with a single compare-and-set.
+     */
     private final Map<Class<?>, List<Subscription<?>>> subscriptions;
     private final Supplier<List<Subscription<?>>> mappingFunction;
 
+    /**
+     * The {@link de.florianmichael.dietrichevents.EventChannel} of every listener type that has been used so far, channels are never removed,
+     * so handles returned by {@link de.florianmichael.dietrichevents.DietrichEvents#channel(Class)} stay valid.
+     */
+    private final Map<Class<?>, EventChannel<?>> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Reverse index from every subscribed listener object to the listener types it is subscribed to, compared by identity.
+     * This allows {@link de.florianmichael.dietrichevents.DietrichEvents#unsubscribeClass(Listener)} to only touch the affected listener types.
+     * The sets are only changed inside of the compute methods of the map, so updates of different listener objects don't block each other.
+     */
+    private final Map<IdentityKey, Set<Class<? extends Listener>>> listenerIndex = new ConcurrentHashMap<>();
+
+    /**
+     * Weak subscriptions are not part of the {@link de.florianmichael.dietrichevents.DietrichEvents#listenerIndex}, because the index would keep
+     * their listeners reachable. Instead, every weakly subscribed listener object has one canonical {@link de.florianmichael.dietrichevents.DietrichEvents.WeakListener}
+     * which remembers the listener types it is subscribed to. The references of collected listeners are enqueued into the reference queue,
+     * which is drained by {@link de.florianmichael.dietrichevents.DietrichEvents#purge()}. Like the listener index, the listener types of an entry
+     * are only changed inside of the compute methods of the map.
+     */
+    private final Map<WeakListener<?>, WeakListener<?>> weakIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The listener types with weak subscriptions whose reference hasn't been created by the event system, see
+     * {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeInternal(Class, Subscription)}. These can't be indexed and are always scanned.
+     */
+    private final Set<Class<? extends Listener>> weakListenerTypes = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+
+    /**
+     * The listeners bound by {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object)} for every subscribed object, compared by identity.
+     * The listeners are stored in the order of {@link de.florianmichael.dietrichevents.MethodListeners#get(Class)}, once for every subscribe call.
+     */
+    private final Map<Object, List<Listener>> methodListeners = new IdentityHashMap<>();
+
+    private final CoalescingBuffer coalescingBuffer = new CoalescingBuffer();
+
+    private volatile DeferredQueue deferredQueue;
+    private volatile BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
+    /**
+     * The thread which has drained the deferred queue last, it can't wait for itself if it posts deferred events to a full queue,
+     * no matter if it is draining the queue at the moment or not.
+     */
+    private volatile Thread ownerThread;
+
     /**
      * The default priority order comparator, that is used to sort the {@link de.florianmichael.dietrichevents.handle.Subscription} list.
      * Higher priority means that the {@link de.florianmichael.dietrichevents.handle.Subscription} is called earlier.
      */
-    private Comparator<Subscription<?>> priorityOrder = Comparator.comparingInt(subscription -> {
-        final int priority = subscription.getPrioritySupplier().getAsInt();
-        if (priority == Integer.MIN_VALUE) return Integer.MAX_VALUE;
-        if (priority == Integer.MAX_VALUE) return Integer.MIN_VALUE;
-        return -priority;
-    });
+    private Comparator<Subscription<?>> priorityOrder = Comparator.comparingInt(subscription -> sortKey(subscription.getPriority()));
+
+    /**
+     * Whether the default {@link de.florianmichael.dietrichevents.DietrichEvents#priorityOrder} is used, in which case subscriptions are compared
+     * by their primitive sort keys without calling the comparator.
+     */
+    private boolean defaultPriorityOrder = true;
 
     /**
      * This priorityOrder is default used by the {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback} instance.
@@ -54,6 +117,7 @@ public class DietrichEvents {
      */
     public void setPriorityOrder(Comparator<Subscription<?>> priorityOrder) {
         this.priorityOrder = priorityOrder;
+        this.defaultPriorityOrder = false;
     }
 
     private Consumer<Throwable> errorHandler = Throwable::printStackTrace;
@@ -67,8 +131,119 @@ public class DietrichEvents {
         this.errorHandler = errorHandler;
     }
 
+    private long priorityUpdateInterval;
+
+    /**
+     * API method to limit how often dynamic priorities are evaluated by the postPush methods, by default they are evaluated every post.
+     *
+     * @param interval The minimum time between two evaluations per listener type, 0 to evaluate them every post
+     * @param unit The time unit of the interval
+     */
+    public void setPriorityUpdateInterval(final long interval, final TimeUnit unit) {
+        this.priorityUpdateInterval = unit.toNanos(interval);
+    }
+
+    private MetricsSink metricsSink;
+
+    /**
+     * API method to enable dispatch metrics, see {@link de.florianmichael.dietrichevents.metrics.DispatchMetrics} for the default sink.
+     * While a sink is set, the post methods of every listener type are swapped to an instrumented dispatch path, which measures every listener.
+     * Without a sink the normal dispatch path is used, which doesn't have any overhead. All listener types are republished when this is changed. <br>
+     * Note: Only the synchronous listeners called by the post, postInternal and postPush methods are measured.
+     *
+     * @param metricsSink The sink to report to, or null to disable the metrics
+     */
+    public void setMetricsSink(final MetricsSink metricsSink) {
+        this.metricsSink = metricsSink;
+        this.republish();
+    }
+
+    private ListenerWatchdog watchdog;
+
+    /**
+     * API method to enable a {@link de.florianmichael.dietrichevents.ListenerWatchdog}, which uses the same instrumented dispatch path
+     * as the metrics, see {@link de.florianmichael.dietrichevents.DietrichEvents#setMetricsSink(MetricsSink)}. All listener types are republished when this is changed. <br>
+     * Note: Like the metrics, the watchdog only measures the synchronous listeners called by the post, postInternal and postPush methods.
+     *
+     * @param watchdog The watchdog, or null to disable it
+     */
+    public void setWatchdog(final ListenerWatchdog watchdog) {
+        if (watchdog != null) {
+            watchdog.bind(this);
+        }
+        this.watchdog = watchdog;
+        this.republish();
+    }
+
+    /**
+     * @return The sink of the instrumented dispatch path, which reports to the metrics sink and the watchdog, or null if both are disabled
+     */
+    MetricsSink getDispatchSink() {
+        final MetricsSink metricsSink = this.metricsSink;
+        final ListenerWatchdog watchdog = this.watchdog;
+        if (metricsSink == null || watchdog == null) return metricsSink == null ? watchdog : metricsSink;
+
+        return new MetricsSink() {
+
+            @Override
+            public void onPost(final Class<? extends Listener> listenerType, final long nanos, final int fanOut, final boolean aborted) {
+                metricsSink.onPost(listenerType, nanos, fanOut, aborted);
+                watchdog.onPost(listenerType, nanos, fanOut, aborted);
+            }
+
+            @Override
+            public void onListener(final Class<? extends Listener> listenerType, final Listener listener, final long nanos) {
+                metricsSink.onListener(listenerType, listener, nanos);
+                watchdog.onListener(listenerType, listener, nanos);
+            }
+
+        };
+    }
+
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * API method to overwrite the default {@link de.florianmichael.dietrichevents.DietrichEvents#asyncExecutor} instance, which is used
+     * by the postAsync methods and by listeners subscribed with {@link de.florianmichael.dietrichevents.handle.Subscription#setAsync(boolean)}.
+     *
+     * @param asyncExecutor The executor to dispatch asynchronous events on
+     */
+    public void setAsyncExecutor(final Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    private ForkJoinPool parallelPool = ForkJoinPool.commonPool();
+
+    /**
+     * API method to overwrite the default {@link de.florianmichael.dietrichevents.DietrichEvents#parallelPool} instance, which is used
+     * by the postParallel methods to call independent listeners, see {@link de.florianmichael.dietrichevents.handle.Subscription#setIndependent(boolean)}.
+     *
+     * @param parallelPool The pool to call independent listeners on
+     */
+    public void setParallelPool(final ForkJoinPool parallelPool) {
+        this.parallelPool = parallelPool;
+    }
+
+    ForkJoinPool getParallelPool() {
+        return this.parallelPool;
+    }
+
+    void handleError(final Throwable throwable) {
+        this.errorHandler.accept(throwable);
+    }
+
     private BiConsumer<List<Subscription<?>>, Comparator<Subscription<?>>> sortCallback = List::sort;
 
+    /**
+     * Whether the default {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback} is used, only then static priorities are inserted
+     * at their sorted position instead of calling the sort callback, see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeInternal(Class, Subscription)}.
+     */
+    private boolean defaultSortCallback = true;
+
     /**
      * API method to overwrite the default {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback} instance.
      *
@@ -76,6 +251,7 @@ public class DietrichEvents {
      */
     public void setSortCallback(BiConsumer<List<Subscription<?>>, Comparator<Subscription<?>>> sortCallback) {
         this.sortCallback = sortCallback;
+        this.defaultSortCallback = false;
     }
 
     public DietrichEvents(final Map<Class<?>, List<Subscription<?>>> subscriptions, final Supplier<List<Subscription<?>>> mappingFunction) {
@@ -83,11 +259,21 @@ public class DietrichEvents {
         this.mappingFunction = mappingFunction;
     }
 
+    private DietrichEvents() {
+        this(null, null);
+    }
+
     /**
-     * @return A thread-safe instance of {@link de.florianmichael.dietrichevents.DietrichEvents}.
+     * Posting never takes a lock. Every change of the subscriptions creates the new sorted subscription array once and publishes it
+     * with a single compare-and-set per listener type, which is retried if another thread has changed the listener type in the meantime.
+     * The reverse index of {@link de.florianmichael.dietrichevents.DietrichEvents#unsubscribeClass(Listener)} is a {@link java.util.concurrent.ConcurrentHashMap},
+     * so subscribing only waits for other threads which are updating the index entry of the same listener object at the same time.
+     * Use {@link de.florianmichael.dietrichevents.DietrichEvents#create(Map, Supplier)} with a {@link java.util.concurrent.CopyOnWriteArrayList} for the list based behaviour.
+     *
+     * @return A thread-safe instance with lock-free posting of {@link de.florianmichael.dietrichevents.DietrichEvents}.
      */
     public static DietrichEvents createThreadSafe() {
-        return create(new ConcurrentHashMap<>(), CopyOnWriteArrayList::new);
+        return new DietrichEvents();
     }
 
     /**
@@ -108,6 +294,18 @@ public class DietrichEvents {
         return new DietrichEvents(subscriptions, mappingFunction);
     }
 
+    /**
+     * Returns the {@link de.florianmichael.dietrichevents.EventChannel} of the given listener type, the channel can be cached
+     * and used to post events without looking up the listener type every time.
+     *
+     * @param listenerType The listener type
+     * @return The channel, which stays valid across subscribe and unsubscribe calls
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Listener> EventChannel<L> channel(final Class<L> listenerType) {
+        return (EventChannel<L>) this.channels.computeIfAbsent(listenerType, type -> new EventChannel<>(this, listenerType));
+    }
+
     /**
      * Calls the given event.
      *
@@ -144,21 +342,250 @@ public class DietrichEvents {
     }
 
     /**
-     * Subscribes the given listener to the given listener type and calls the {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback}.
+     * Subscribes the given listener to the given listener type, the listener is only called for events with the given routing key,
+     * see {@link de.florianmichael.dietrichevents.handle.Subscription#setRoutingKey(Enum)}.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener
+     * @param routingKey The routing key, e.g. an {@link de.florianmichael.dietrichevents.enums.EventStateType}
+     * @return The listener
+     */
+    public <L extends Listener> L subscribe(Class<L> listenerType, L listener, Enum<?> routingKey) {
+        return subscribe(listenerType, listener, 0, routingKey);
+    }
+
+    /**
+     * Subscribes the given listener to the given listener type, the listener is only called for events with the given routing key,
+     * see {@link de.florianmichael.dietrichevents.handle.Subscription#setRoutingKey(Enum)}.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener
+     * @param priority The priority
+     * @param routingKey The routing key, e.g. an {@link de.florianmichael.dietrichevents.enums.EventStateType}
+     * @return The listener
+     */
+    public <L extends Listener> L subscribe(Class<L> listenerType, L listener, int priority, Enum<?> routingKey) {
+        return subscribeInternal(listenerType, new Subscription<>(listener, priority).setRoutingKey(routingKey));
+    }
+
+    /**
+     * Subscribes the given listener to the given listener type. If the default sort callback is used, the priority is static and the list only contains
+     * static priorities, the subscription is inserted at its sorted position, otherwise the {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback} is called.
      *
      * @param listenerType The listener type
      * @param subscription The subscription
      * @return The listener
      */
     public <L extends Listener> L subscribeInternal(Class<L> listenerType, Subscription<L> subscription) {
-        this.subscriptions.computeIfAbsent(listenerType, c -> this.mappingFunction.get()).add(subscription);
-        final List<Subscription<?>> sortedCallers = this.subscriptions.get(listenerType);
-        this.sortCallback.accept(sortedCallers, this.priorityOrder);
-        this.subscriptions.put(listenerType, sortedCallers);
+        if (this.subscriptions == null) {
+            this.channel(listenerType).update(current -> this.insert(current, subscription));
+        } else {
+            final EventChannel<L> channel = this.channel(listenerType);
+            synchronized (channel) {
+                final List<Subscription<?>> subscriptionList = this.subscriptions.computeIfAbsent(listenerType, c -> this.mappingFunction.get());
+                if (!this.defaultSortCallback || subscription.isDynamicPriority() || channel.hasDynamicPriorities() || !(subscriptionList instanceof RandomAccess)) {
+                    subscriptionList.add(subscription);
+                    this.sort(subscriptionList);
+                } else {
+                    subscriptionList.add(this.insertionIndex(subscriptionList, subscription), subscription);
+                }
+                this.publish(listenerType);
+            }
+        }
+        this.index(listenerType, subscription);
+        if (subscription.isWeak()) {
+            this.purge();
+        }
 
         return subscription.getListenerType();
     }
 
+    /**
+     * Subscribes all listeners of the given collection to the given listener type, the subscriptions are added at once and the
+     * listener type is only sorted and republished a single time.
+     *
+     * @param listenerType The listener type
+     * @param listeners The listeners
+     */
+    public <L extends Listener> void subscribeAll(final Class<L> listenerType, final Collection<? extends L> listeners) {
+        final List<Subscription<?>> subscriptionList = new ArrayList<>(listeners.size());
+        for (L listener : listeners) {
+            subscriptionList.add(new Subscription<>(listener));
+        }
+        subscribeAllInternal(Collections.singletonMap(listenerType, subscriptionList));
+    }
+
+    /**
+     * Subscribes all events from every listener class of the given collection, see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeClass(Listener)}.
+     * Each affected listener type is only sorted and republished a single time, which makes this the recommended way to register many listeners at once.
+     *
+     * @param listeners The listeners to subscribe
+     */
+    public void subscribeAll(final Collection<? extends Listener> listeners) {
+        subscribeAll(listeners, 0);
+    }
+
+    /**
+     * Subscribes all events from every listener class of the given collection, see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeAll(Collection)}.
+     *
+     * @param listeners The listeners to subscribe
+     * @param priority The priority of the listeners
+     */
+    public void subscribeAll(final Collection<? extends Listener> listeners, final int priority) {
+        final Map<Class<? extends Listener>, List<Subscription<?>>> transaction = new HashMap<>();
+        for (Listener listener : listeners) {
+            final Subscription<Listener> subscription = new Subscription<>(listener, priority);
+            for (Class<? extends Listener> listenerType : this.getListenerTypes(listener)) {
+                transaction.computeIfAbsent(listenerType, c -> new ArrayList<>()).add(subscription);
+            }
+        }
+        subscribeAllInternal(transaction);
+    }
+
+    /**
+     * Adds all given subscriptions, this method is not intended to be used by the user. Every listener type is sorted
+     * with the {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback} and republished once after all its subscriptions were added.
+     *
+     * @param transaction The subscriptions to add, mapped by their listener type
+     */
+    public void subscribeAllInternal(final Map<Class<? extends Listener>, ? extends Collection<Subscription<?>>> transaction) {
+        boolean weak = false;
+        for (Map.Entry<Class<? extends Listener>, ? extends Collection<Subscription<?>>> entry : transaction.entrySet()) {
+            if (entry.getValue().isEmpty()) continue;
+
+            if (this.subscriptions == null) {
+                this.channel(entry.getKey()).update(current -> this.merge(current, entry.getValue()));
+            } else {
+                synchronized (this.channel(entry.getKey())) {
+                    final List<Subscription<?>> subscriptionList = this.subscriptions.computeIfAbsent(entry.getKey(), c -> this.mappingFunction.get());
+                    subscriptionList.addAll(entry.getValue());
+                    this.sort(subscriptionList);
+                    this.publish(entry.getKey());
+                }
+            }
+            for (Subscription<?> subscription : entry.getValue()) {
+                this.index(entry.getKey(), subscription);
+                weak |= subscription.isWeak();
+            }
+        }
+        if (weak) {
+            this.purge();
+        }
+    }
+
+    /**
+     * Creates a new sorted array with the given subscription, which is inserted at its sorted position if possible, see
+     * {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeInternal(Class, Subscription)}.
+     *
+     * @param current The current sorted subscriptions, which are not modified
+     * @param subscription The subscription to add
+     * @return The new sorted subscriptions
+     */
+    private Subscription<?>[] insert(final Subscription<?>[] current, final Subscription<?> subscription) {
+        boolean sort = !this.defaultSortCallback || subscription.isDynamicPriority();
+        for (int i = 0; i < current.length && !sort; i++) {
+            sort = current[i].isDynamicPriority();
+        }
+        if (sort) return this.merge(current, Collections.singletonList(subscription));
+
+        final int index = this.insertionIndex(Arrays.asList(current), subscription);
+        final Subscription<?>[] subscriptions = new Subscription<?>[current.length + 1];
+        System.arraycopy(current, 0, subscriptions, 0, index);
+        subscriptions[index] = subscription;
+        System.arraycopy(current, index, subscriptions, index + 1, current.length - index);
+        return subscriptions;
+    }
+
+    /**
+     * Creates a new array with all given subscriptions and sorts it once, see {@link de.florianmichael.dietrichevents.DietrichEvents#sort(List)}.
+     *
+     * @param current The current sorted subscriptions, which are not modified
+     * @param added The subscriptions to add
+     * @return The new sorted subscriptions
+     */
+    private Subscription<?>[] merge(final Subscription<?>[] current, final Collection<? extends Subscription<?>> added) {
+        final Subscription<?>[] subscriptions = Arrays.copyOf(current, current.length + added.size());
+        int index = current.length;
+        for (Subscription<?> subscription : added) {
+            subscriptions[index++] = subscription;
+        }
+        this.sort(Arrays.asList(subscriptions));
+        return subscriptions;
+    }
+
+    /**
+     * Evaluates all dynamic priorities of the given list and sorts it with the {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback}.
+     *
+     * @param subscriptionList The list to sort
+     */
+    private void sort(final List<Subscription<?>> subscriptionList) {
+        for (Subscription<?> subscription : subscriptionList) {
+            subscription.updatePriority();
+        }
+        this.order(subscriptionList);
+    }
+
+    /**
+     * Sorts the given list by the cached priorities, either with the {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback}
+     * or, if the default order is used, with a primitive sort of the packed sort keys.
+     *
+     * @param subscriptionList The list to sort
+     */
+    private void order(final List<Subscription<?>> subscriptionList) {
+        if (!this.defaultPriorityOrder || !this.defaultSortCallback) {
+            this.sortCallback.accept(subscriptionList, this.priorityOrder);
+            return;
+        }
+        final Subscription<?>[] subscriptions = subscriptionList.toArray(new Subscription<?>[0]);
+        if (subscriptions.length < 2) return;
+
+        // The sort key is stored in the upper and the original index in the lower half, so sorting the keys is stable
+        final long[] keys = new long[subscriptions.length];
+        for (int i = 0; i < subscriptions.length; i++) {
+            keys[i] = (long) sortKey(subscriptions[i].getPriority()) << 32 | i;
+        }
+        Arrays.sort(keys);
+        final int[] index = { 0 };
+        subscriptionList.replaceAll(subscription -> subscriptions[(int) keys[index[0]++]]);
+    }
+
+    /**
+     * Maps the given priority to its position in the default order, higher priorities are called earlier,
+     * {@link de.florianmichael.dietrichevents.enums.Priorities#MONITOR} is called first and {@link de.florianmichael.dietrichevents.enums.Priorities#FIRST} is called last.
+     *
+     * @param priority The priority
+     * @return The sort key, lower keys are called earlier
+     */
+    private static int sortKey(final int priority) {
+        if (priority == Integer.MIN_VALUE) return Integer.MAX_VALUE;
+        if (priority == Integer.MAX_VALUE) return Integer.MIN_VALUE;
+        return -priority;
+    }
+
+    /**
+     * Finds the index where the given subscription has to be inserted into the sorted list, subscriptions with the same priority
+     * keep their subscription order, just like with the stable sort of the default {@link de.florianmichael.dietrichevents.DietrichEvents#sortCallback}.
+     *
+     * @param subscriptionList The sorted list
+     * @param subscription The subscription to insert
+     * @return The insertion index
+     */
+    private int insertionIndex(final List<Subscription<?>> subscriptionList, final Subscription<?> subscription) {
+        final int key = sortKey(subscription.getPriority());
+        int low = 0;
+        int high = subscriptionList.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final Subscription<?> other = subscriptionList.get(middle);
+            if (this.defaultPriorityOrder ? sortKey(other.getPriority()) <= key : this.priorityOrder.compare(other, subscription) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /**
      * Subscribes all events from the given listener class.
      *
@@ -190,6 +617,97 @@ public class DietrichEvents {
         subscribeClassInternal(new Subscription<>(listener, priority));
     }
 
+    /**
+     * Subscribes the given listener to the given listener type without keeping it reachable, the subscription is removed
+     * automatically once the listener has been garbage collected. Weak listeners can still be unsubscribed manually.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener
+     * @return The listener
+     */
+    public <L extends Listener> L subscribeWeak(final Class<L> listenerType, final L listener) {
+        return subscribeWeak(listenerType, listener, 0);
+    }
+
+    /**
+     * Subscribes the given listener to the given listener type without keeping it reachable,
+     * see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeWeak(Class, Listener)}.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener
+     * @param priority The priority
+     * @return The listener
+     */
+    public <L extends Listener> L subscribeWeak(final Class<L> listenerType, final L listener, final int priority) {
+        return subscribeInternal(listenerType, Subscription.weak(this.weakReference(listener), priority));
+    }
+
+    /**
+     * Subscribes all events from the given listener class without keeping it reachable,
+     * see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeWeak(Class, Listener)}.
+     *
+     * @param listener The listener to subscribe
+     */
+    public void subscribeClassWeak(final Listener listener) {
+        subscribeClassWeak(listener, 0);
+    }
+
+    /**
+     * Subscribes all events from the given listener class without keeping it reachable,
+     * see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeWeak(Class, Listener)}.
+     *
+     * @param listener The listener to subscribe
+     * @param priority The priority of the listener
+     */
+    public void subscribeClassWeak(final Listener listener, final int priority) {
+        subscribeClassInternal(Subscription.weak(this.weakReference(listener), priority));
+    }
+
+    /**
+     * Removes the subscriptions of all weak listeners which have been garbage collected since the last call. This is done
+     * automatically every time weak listeners are subscribed, so it only has to be called manually if no weak listeners are subscribed for a long time.
+     * Subscribing normal listeners never purges. Collected listeners are never called, even if their subscriptions haven't been removed yet.
+     */
+    public void purge() {
+        Reference<?> reference = this.referenceQueue.poll();
+        if (reference == null) return;
+
+        final Set<Reference<?>> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Class<? extends Listener>> listenerTypes = new HashSet<>(this.weakListenerTypes);
+        do {
+            collected.add(reference);
+            if (reference instanceof WeakListener) {
+                // The referent is gone, but the identity hash is kept and a reference always equals itself
+                final WeakListener<?> weakListener = this.weakIndex.remove(reference);
+                if (weakListener != null) {
+                    listenerTypes.addAll(weakListener.listenerTypes);
+                }
+            }
+        } while ((reference = this.referenceQueue.poll()) != null);
+
+        for (Class<? extends Listener> listenerType : listenerTypes) {
+            this.removeSubscriptions(listenerType, subscription -> subscription.isWeak() && collected.contains(subscription.getReference()));
+        }
+    }
+
+    /**
+     * Returns the canonical {@link de.florianmichael.dietrichevents.DietrichEvents.WeakListener} of the given listener object, so all weak
+     * subscriptions of the same listener share one reference and one entry in the {@link de.florianmichael.dietrichevents.DietrichEvents#weakIndex}.
+     *
+     * @param listener The listener
+     * @return The weak reference to the listener
+     */
+    @SuppressWarnings("unchecked")
+    private <L> WeakListener<L> weakReference(final L listener) {
+        final WeakListener<?> weakListener = this.weakIndex.get(new WeakListener<>(listener, null));
+        if (weakListener != null) return (WeakListener<L>) weakListener;
+
+        // Not computeIfAbsent, which would store the probe without the reference queue as key
+        final WeakListener<L> created = new WeakListener<>(listener, this.referenceQueue);
+        final WeakListener<?> previous = this.weakIndex.putIfAbsent(created, created);
+        return previous != null ? (WeakListener<L>) previous : created;
+    }
+
     /**
      * Subscribes all listeners of the given type and automatically checks if the given listener object is
      * implementing any listener, if that's not the case, the method will abort without any Exception.
@@ -234,30 +752,38 @@ public class DietrichEvents {
      */
     @SuppressWarnings("unchecked")
     public <L extends Listener> void subscribeClassInternal(final Subscription<L> subscription) {
-        for (Class<?> classInterface : subscription.getListenerType().getClass().getInterfaces()) {
-            if (Listener.class.isAssignableFrom(classInterface)) {
-                this.subscribeInternal((Class<L>) classInterface, subscription);
-            }
+        for (Class<? extends Listener> listenerType : this.getListenerTypes(subscription.getListenerType())) {
+            this.subscribeInternal((Class<L>) listenerType, subscription);
         }
     }
 
+    /**
+     * @param listener The listener object
+     * @return All listener types the class of the given object is implementing, see {@link de.florianmichael.dietrichevents.ListenerTypes}
+     */
+    private List<Class<? extends Listener>> getListenerTypes(final Object listener) {
+        return ListenerTypes.get(listener.getClass());
+    }
+
     /**
      * Unsubscribes all events from the given listener class.
      *
      * @param listener The listener to unsubscribe
      */
-    @SuppressWarnings("unchecked")
     public <L extends Listener> void unsubscribeClass(final L listener) {
-        try {
-            for (Map.Entry<Class<?>, List<Subscription<?>>> entry : this.subscriptions.entrySet()) {
-                for (Subscription<?> subscription : entry.getValue()) {
-                    if (subscription.getListenerType() == listener) {
-                        this.unsubscribe((Class<L>) entry.getKey(), (L) subscription.getListenerType());
-                    }
-                }
+        final Set<Class<? extends Listener>> listenerTypes = this.listenerIndex.remove(new IdentityKey(listener));
+        if (listenerTypes != null) {
+            for (Class<? extends Listener> listenerType : listenerTypes) {
+                this.removeSubscriptions(listenerType, subscription -> subscription.getListenerType() == listener);
             }
-        } catch (Exception e) {
-            this.errorHandler.accept(e);
+        }
+        final Set<Class<? extends Listener>> weakListenerTypes = new HashSet<>(this.weakListenerTypes);
+        final WeakListener<?> weakListener = this.weakIndex.isEmpty() ? null : this.weakIndex.remove(new WeakListener<>(listener, null));
+        if (weakListener != null) {
+            weakListenerTypes.addAll(weakListener.listenerTypes);
+        }
+        for (Class<? extends Listener> listenerType : weakListenerTypes) {
+            this.removeSubscriptions(listenerType, subscription -> subscription.isWeak() && subscription.getListenerType() == listener);
         }
     }
 
@@ -274,38 +800,270 @@ public class DietrichEvents {
     }
 
     /**
-     * Unsubscribes all listeners of the given type
+     * Subscribes all methods of the given object which are annotated with {@link de.florianmichael.dietrichevents.handle.Subscribe}. Every method is bound into
+     * an implementation of its listener type, which is then subscribed like any other listener, so it is called without any reflection.
+     * This can only bind public methods of public classes, see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object, MethodHandles.Lookup)}.
      *
-     * @param listenerType The type of listener to unsubscribe
+     * @param target The object to subscribe
      */
-    public <L extends Listener> void unsubscribeListenerType(final Class<L> listenerType) {
-        this.subscriptions.remove(listenerType);
+    public void subscribeMethods(final Object target) {
+        subscribeMethods(target, MethodListeners.LOOKUP);
     }
 
     /**
-     * Unsubscribed the given listener type from the listener
+     * Subscribes all methods of the given object which are annotated with {@link de.florianmichael.dietrichevents.handle.Subscribe},
+     * see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object)}. Pass {@link java.lang.invoke.MethodHandles#lookup()}
+     * from inside the class of the object to bind methods that aren't public or classes of another class loader.
      *
-     * @param listenerType The type of listener to unsubscribe
-     * @param listener The listener to unsubscribe
+     * @param target The object to subscribe
+     * @param lookup A lookup with access to the annotated methods
      */
-    public <L extends Listener> void unsubscribe(Class<L> listenerType, L listener) {
-        try {
-            this.subscriptions.get(listenerType).removeIf(subscription -> subscription.getListenerType() == listener);
+    public void subscribeMethods(final Object target, final MethodHandles.Lookup lookup) {
+        final List<MethodListeners.Handler> handlers = MethodListeners.get(target.getClass());
+        if (handlers.isEmpty()) return;
 
-            if (this.subscriptions.get(listenerType).isEmpty()) {
-                this.subscriptions.remove(listenerType);
-            }
-        } catch (Exception e) {
-            this.errorHandler.accept(e);
+        final List<Listener> listeners = new ArrayList<>(handlers.size());
+        for (MethodListeners.Handler handler : handlers) {
+            listeners.add(handler.bind(target, lookup));
         }
-    }
+        synchronized (this.methodListeners) {
+            this.methodListeners.computeIfAbsent(target, t -> new ArrayList<>()).addAll(listeners);
+        }
+        for (int i = 0; i < handlers.size(); i++) {
+            final MethodListeners.Handler handler = handlers.get(i);
+            this.subscribeMethod(handler.listenerType, listeners.get(i), handler.priority);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <L extends Listener> void subscribeMethod(final Class<L> listenerType, final Listener listener, final int priority) {
+        this.subscribeInternal(listenerType, new Subscription<>((L) listener, priority));
+    }
+
+    /**
+     * Unsubscribes all methods of the given object which were subscribed with {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object)}.
+     *
+     * @param target The object to unsubscribe
+     */
+    @SuppressWarnings("unchecked")
+    public void unsubscribeMethods(final Object target) {
+        final List<Listener> listeners;
+        synchronized (this.methodListeners) {
+            listeners = this.methodListeners.remove(target);
+        }
+        if (listeners == null) return;
+
+        final List<MethodListeners.Handler> handlers = MethodListeners.get(target.getClass());
+        for (int i = 0; i < listeners.size(); i++) {
+            // The listeners of multiple subscribe calls are stored one after another
+            this.unsubscribe((Class<Listener>) handlers.get(i % handlers.size()).listenerType, listeners.get(i));
+        }
+    }
+
+    /**
+     * Unsubscribes all listeners of the given type
+     *
+     * @param listenerType The type of listener to unsubscribe
+     */
+    public <L extends Listener> void unsubscribeListenerType(final Class<L> listenerType) {
+        final Collection<Subscription<?>> removed;
+        if (this.subscriptions == null) {
+            final EventChannel<?> channel = this.channels.get(listenerType);
+            if (channel == null) return;
+
+            final Subscription<?>[] subscriptions = channel.update(current -> current.length == 0 ? null : new Subscription<?>[0]);
+            if (subscriptions == null) return;
+
+            removed = Arrays.asList(subscriptions);
+        } else {
+            synchronized (this.channel(listenerType)) {
+                removed = this.subscriptions.remove(listenerType);
+                this.publish(listenerType);
+            }
+            if (removed == null) return;
+        }
+        for (Subscription<?> subscription : removed) {
+            final Object listener = subscription.getListenerType();
+            if (listener != null) {
+                this.unindex(listenerType, listener);
+            }
+        }
+    }
+
+    /**
+     * Unsubscribed the given listener type from the listener
+     *
+     * @param listenerType The type of listener to unsubscribe
+     * @param listener The listener to unsubscribe
+     */
+    public <L extends Listener> void unsubscribe(Class<L> listenerType, L listener) {
+        this.removeSubscriptions(listenerType, subscription -> subscription.getListenerType() == listener);
+        this.unindex(listenerType, listener);
+    }
+
+    /**
+     * Unsubscribes the given listener from the given listener type, used by the {@link de.florianmichael.dietrichevents.ListenerWatchdog}.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener
+     */
+    void removeListener(final Class<? extends Listener> listenerType, final Listener listener) {
+        this.removeSubscriptions(listenerType, subscription -> subscription.getListenerType() == listener);
+        this.unindex(listenerType, listener);
+    }
+
+    /**
+     * Moves all synchronous subscriptions of the given listener to the asynchronous lane of the given listener type
+     * and republishes the listener type, used by the {@link de.florianmichael.dietrichevents.ListenerWatchdog}. The subscriptions
+     * are replaced by asynchronous copies, because {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeClass(Listener)}
+     * shares one subscription between all listener types of the listener, which have to stay synchronous.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener
+     */
+    void moveToAsync(final Class<? extends Listener> listenerType, final Listener listener) {
+        final EventChannel<?> channel = this.channels.get(listenerType);
+        if (channel == null) return;
+
+        if (this.subscriptions == null) {
+            channel.update(current -> moveToAsync(current, listener));
+            return;
+        }
+        synchronized (channel) {
+            final List<Subscription<?>> subscriptionList = this.subscriptions.get(listenerType);
+            if (subscriptionList == null) return;
+
+            final Subscription<?>[] subscriptions = moveToAsync(subscriptionList.toArray(new Subscription<?>[0]), listener);
+            if (subscriptions != null) {
+                subscriptionList.clear();
+                subscriptionList.addAll(Arrays.asList(subscriptions));
+                this.publish(listenerType);
+            }
+        }
+    }
+
+    private static Subscription<?>[] moveToAsync(final Subscription<?>[] current, final Listener listener) {
+        Subscription<?>[] subscriptions = null;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getListenerType() == listener && !current[i].isAsync()) {
+                if (subscriptions == null) {
+                    subscriptions = current.clone();
+                }
+                subscriptions[i] = current[i].copy().setAsync(true);
+            }
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Removes all matching subscriptions from the given listener type and republishes the listener type.
+     *
+     * @param listenerType The listener type
+     * @param filter Returns true for every subscription to remove
+     */
+    private void removeSubscriptions(final Class<? extends Listener> listenerType, final Predicate<Subscription<?>> filter) {
+        if (this.subscriptions == null) {
+            final EventChannel<?> channel = this.channels.get(listenerType);
+            if (channel != null) {
+                channel.update(current -> remove(current, filter));
+            }
+            return;
+        }
+        try {
+            final List<Subscription<?>> subscriptionList = this.subscriptions.get(listenerType);
+            if (subscriptionList == null) return;
+
+            synchronized (this.channel(listenerType)) {
+                subscriptionList.removeIf(filter);
+                if (subscriptionList.isEmpty()) {
+                    this.subscriptions.remove(listenerType, subscriptionList);
+                }
+                this.publish(listenerType);
+            }
+        } catch (Exception e) {
+            this.errorHandler.accept(e);
+        }
+    }
+
+    /**
+     * @param current The current sorted subscriptions, which are not modified
+     * @param filter Returns true for every subscription to remove
+     * @return The subscriptions without the matching ones, or null if no subscription matches
+     */
+    private static Subscription<?>[] remove(final Subscription<?>[] current, final Predicate<Subscription<?>> filter) {
+        int removed = 0;
+        for (Subscription<?> subscription : current) {
+            if (filter.test(subscription)) removed++;
+        }
+        if (removed == 0) return null;
+
+        final Subscription<?>[] subscriptions = new Subscription<?>[current.length - removed];
+        int index = 0;
+        for (Subscription<?> subscription : current) {
+            if (!filter.test(subscription)) {
+                subscriptions[index++] = subscription;
+            }
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Adds the given listener type to the {@link de.florianmichael.dietrichevents.DietrichEvents#listenerIndex} entry of the subscribed listener object,
+     * weak subscriptions are indexed by their reference instead, see {@link de.florianmichael.dietrichevents.DietrichEvents#weakIndex}.
+     *
+     * @param listenerType The listener type
+     * @param subscription The subscription
+     */
+    private void index(final Class<? extends Listener> listenerType, final Subscription<?> subscription) {
+        if (subscription.isWeak()) {
+            if (subscription.getReference() instanceof WeakListener) {
+                final WeakListener<?> weakListener = (WeakListener<?>) subscription.getReference();
+                this.weakIndex.compute(weakListener, (reference, current) -> {
+                    // The entry might have been removed concurrently by unsubscribeClass or purge, the subscription is still there
+                    final WeakListener<?> entry = current != null ? current : weakListener;
+                    if (entry.get() == null) return current;
+
+                    entry.listenerTypes.add(listenerType);
+                    return entry;
+                });
+            } else {
+                this.weakListenerTypes.add(listenerType);
+            }
+            return;
+        }
+        this.listenerIndex.compute(new IdentityKey(subscription.getListenerType()), (listener, listenerTypes) -> {
+            final Set<Class<? extends Listener>> entry = listenerTypes != null ? listenerTypes : new HashSet<>();
+            entry.add(listenerType);
+            return entry;
+        });
+    }
+
+    /**
+     * Removes the given listener type from the {@link de.florianmichael.dietrichevents.DietrichEvents#listenerIndex} entry of the given listener object.
+     *
+     * @param listenerType The listener type
+     * @param listener The listener object
+     */
+    private void unindex(final Class<? extends Listener> listenerType, final Object listener) {
+        this.listenerIndex.computeIfPresent(new IdentityKey(listener), (key, listenerTypes) -> {
+            listenerTypes.remove(listenerType);
+            return listenerTypes.isEmpty() ? null : listenerTypes;
+        });
+        if (this.weakIndex.isEmpty()) return;
+
+        this.weakIndex.computeIfPresent(new WeakListener<>(listener, null), (reference, weakListener) -> {
+            weakListener.listenerTypes.remove(listenerType);
+            return weakListener.listenerTypes.isEmpty() ? null : weakListener;
+        });
+    }
 
     /**
      * @param listenerType The type of listener to check
      * @return Whether the event has subscribers
      */
     public <L extends Listener> boolean hasSubscribers(final Class<L> listenerType) {
-        return this.subscriptions.containsKey(listenerType);
+        final EventChannel<?> channel = this.channels.get(listenerType);
+        return channel != null && channel.hasSubscribers();
     }
 
     /**
@@ -314,20 +1072,25 @@ public class DietrichEvents {
      * @return Whether the listener is subscribed to the event
      */
     public <L extends Listener> boolean hasListeners(final Class<L> listenerType, final L listener) {
-        if (!hasSubscribers(listenerType)) return false;
+        final EventChannel<?> channel = this.channels.get(listenerType);
+        if (channel == null) return false;
 
-        return this.subscriptions.get(listenerType).stream().anyMatch(subscription -> subscription.getListenerType() == listener);
+        for (Subscription<?> subscription : channel.getSubscriptions()) {
+            if (subscription.getListenerType() == listener) return true;
+        }
+        return false;
     }
 
     /**
-     * Calls all listeners of a given event, has error handling and reorders the priorities each time it is called.
+     * Calls all listeners of a given event, has error handling and reorders the priorities if a dynamic priority has changed.
+     * Dynamic priorities are evaluated once per call (or once per {@link de.florianmichael.dietrichevents.DietrichEvents#priorityUpdateInterval}),
+     * listener types with only static priorities don't have any overhead compared to the normal post method.
+     *
      * @param event The event to post
      * @return The event
      */
     public <L extends Listener, E extends AbstractEvent<L>> E postPush(final E event) {
-        final List<Subscription<?>> sortedCallers = this.subscriptions.get(event.getListenerType());
-        this.sortCallback.accept(sortedCallers, this.priorityOrder);
-        this.subscriptions.put(event.getListenerType(), sortedCallers);
+        this.updatePriorities(event.getListenerType());
 
         return post(event);
     }
@@ -347,37 +1110,435 @@ public class DietrichEvents {
     }
 
     /**
-     * Calls all listeners of a given event, has no error handling and reorders the priorities each time it is called,
+     * Calls all listeners of a given event, has no error handling and reorders the priorities if a dynamic priority has changed,
      * this method should be used if the priority is an IntSupplier and is Dynamic.
      *
      * @param event The event to post
      * @return The event
      */
     public <L extends Listener, E extends AbstractEvent<L>> E postInternalPush(final E event) {
-        final List<Subscription<?>> sortedCallers = this.subscriptions.get(event.getListenerType());
-        this.sortCallback.accept(sortedCallers, this.priorityOrder);
-        this.subscriptions.put(event.getListenerType(), sortedCallers);
+        this.updatePriorities(event.getListenerType());
 
         return postInternal(event);
     }
 
+    /**
+     * Calls all listeners for every given event in {@link de.florianmichael.dietrichevents.enums.DispatchOrder#EVENT_MAJOR} order, has error handling.
+     *
+     * @param events The events to post, all of them need to have the same listener type
+     * @return The events
+     */
+    public <L extends Listener, E extends AbstractEvent<L>, C extends Collection<E>> C postAll(final C events) {
+        return postAll(events, DispatchOrder.EVENT_MAJOR);
+    }
+
+    /**
+     * Calls all listeners for every given event, has error handling, see {@link de.florianmichael.dietrichevents.EventChannel#postAll(Collection, DispatchOrder)}.
+     *
+     * @param events The events to post, all of them need to have the same listener type
+     * @param order The iteration order
+     * @return The events
+     */
+    public <L extends Listener, E extends AbstractEvent<L>, C extends Collection<E>> C postAll(final C events, final DispatchOrder order) {
+        try {
+            return postAllInternal(events, order);
+        } catch (Throwable e) {
+            this.errorHandler.accept(e);
+            return events;
+        }
+    }
+
+    /**
+     * Calls all listeners for every given event, but has no error handling. The listener type is resolved from the first event
+     * and the dispatch table is only looked up once for the whole batch, see {@link de.florianmichael.dietrichevents.EventChannel#postAllInternal(Collection, DispatchOrder)}.
+     *
+     * @param events The events to post, all of them need to have the same listener type
+     * @param order The iteration order
+     * @return The events
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Listener, E extends AbstractEvent<L>, C extends Collection<E>> C postAllInternal(final C events, final DispatchOrder order) {
+        if (events.isEmpty()) return events;
+
+        final EventChannel<L> channel = (EventChannel<L>) this.channels.get(events.iterator().next().getListenerType());
+        if (channel == null) return events;
+
+        return channel.postAllInternal(events, order);
+    }
+
+    /**
+     * Calls all listeners for every given event in {@link de.florianmichael.dietrichevents.enums.DispatchOrder#EVENT_MAJOR} order, has error handling.
+     *
+     * @param events The events to post, all of them need to have the same listener type
+     * @return The events
+     */
+    public <L extends Listener, E extends AbstractEvent<L>> E[] postAll(final E[] events) {
+        return postAll(events, DispatchOrder.EVENT_MAJOR);
+    }
+
+    /**
+     * Calls all listeners for every given event, has error handling, see {@link de.florianmichael.dietrichevents.EventChannel#postAll(AbstractEvent[], DispatchOrder)}.
+     *
+     * @param events The events to post, all of them need to have the same listener type
+     * @param order The iteration order
+     * @return The events
+     */
+    public <L extends Listener, E extends AbstractEvent<L>> E[] postAll(final E[] events, final DispatchOrder order) {
+        try {
+            return postAllInternal(events, order);
+        } catch (Throwable e) {
+            this.errorHandler.accept(e);
+            return events;
+        }
+    }
+
+    /**
+     * Calls all listeners for every given event, but has no error handling. The listener type is resolved from the first event
+     * and the dispatch table is only looked up once for the whole batch, see {@link de.florianmichael.dietrichevents.EventChannel#postAllInternal(AbstractEvent[], DispatchOrder)}.
+     *
+     * @param events The events to post, all of them need to have the same listener type
+     * @param order The iteration order
+     * @return The events
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Listener, E extends AbstractEvent<L>> E[] postAllInternal(final E[] events, final DispatchOrder order) {
+        if (events.length == 0) return events;
+
+        final EventChannel<L> channel = (EventChannel<L>) this.channels.get(events[0].getListenerType());
+        if (channel == null) return events;
+
+        return channel.postAllInternal(events, order);
+    }
+
+    /**
+     * Calls all listeners of a given event on the {@link de.florianmichael.dietrichevents.DietrichEvents#asyncExecutor}, events of the same
+     * listener type are always dispatched in the order they were posted, see {@link de.florianmichael.dietrichevents.EventChannel#postAsync(AbstractEvent)}.
+     *
+     * @param event The event to post
+     * @return A future which is completed with the event after all listeners have been called
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Listener, E extends AbstractEvent<L>> CompletableFuture<E> postAsync(final E event) {
+        final EventChannel<L> channel = (EventChannel<L>) this.channels.get(event.getListenerType());
+        if (channel == null) return CompletableFuture.completedFuture(event);
+
+        return channel.postAsync(event);
+    }
+
+    /**
+     * API method to configure the queue of {@link de.florianmichael.dietrichevents.DietrichEvents#postDeferred(AbstractEvent)}, by default it holds 1024 events
+     * and blocks the posting thread if it is full. The owner thread, which is the thread that has called {@link de.florianmichael.dietrichevents.DietrichEvents#drain()}
+     * last, never blocks, it posts the event directly like {@link de.florianmichael.dietrichevents.enums.BackpressurePolicy#CALLER_RUNS} instead. This replaces the current queue, so it should be
+     * called before events are deferred.
+     *
+     * @param capacity The maximum amount of queued events, rounded up to the next power of two and at least 2
+     * @param backpressurePolicy What is done with events if the queue is full
+     */
+    public void setDeferredQueue(final int capacity, final BackpressurePolicy backpressurePolicy) {
+        this.deferredQueue = new DeferredQueue(capacity);
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    private DeferredQueue deferredQueue() {
+        final DeferredQueue deferredQueue = this.deferredQueue;
+        if (deferredQueue != null) return deferredQueue;
+
+        synchronized (this) {
+            if (this.deferredQueue == null) {
+                this.deferredQueue = new DeferredQueue(1024);
+            }
+            return this.deferredQueue;
+        }
+    }
+
+    /**
+     * Queues the given event until the owner thread calls {@link de.florianmichael.dietrichevents.DietrichEvents#drain()}, this can be called from any thread
+     * and doesn't allocate anything. If the queue is full, the {@link de.florianmichael.dietrichevents.enums.BackpressurePolicy} decides what happens with the event,
+     * if the owner thread, which has called {@link de.florianmichael.dietrichevents.DietrichEvents#drain()} last, posts to a full queue, the event is posted directly instead of blocking.
+     *
+     * @param event The event to queue
+     * @return false if the event has been discarded because the queue is full
+     */
+    public <L extends Listener, E extends AbstractEvent<L>> boolean postDeferred(final E event) {
+        final DeferredQueue deferredQueue = this.deferredQueue();
+        if (deferredQueue.offer(event)) return true;
+
+        switch (this.backpressurePolicy) {
+            case DROP_NEWEST:
+                return false;
+            case DROP_OLDEST:
+                do {
+                    deferredQueue.poll();
+                } while (!deferredQueue.offer(event));
+                return true;
+            case CALLER_RUNS:
+                this.post(event);
+                return true;
+            default:
+                if (this.ownerThread == Thread.currentThread()) {
+                    // Nobody else is going to drain the queue while the owner thread waits
+                    this.post(event);
+                    return true;
+                }
+                int spins = 0;
+                while (!deferredQueue.offer(event)) {
+                    if (++spins < 64) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(10_000);
+                    }
+                }
+                return true;
+        }
+    }
+
+    /**
+     * Calls all listeners of the queued events on the current thread, has error handling. At most as many events as the queue can hold are dispatched,
+     * so producers can't keep the owner thread busy forever. Only one thread should drain the queue, the calling thread becomes the owner thread.
+     *
+     * @return The amount of dispatched events
+     */
+    public int drain() {
+        return drain(this.deferredQueue().capacity(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Calls all listeners of the queued events on the current thread, has error handling, see {@link de.florianmichael.dietrichevents.DietrichEvents#drain()}.
+     *
+     * @param maxEvents The maximum amount of events to dispatch
+     * @param maxNanos The time in nanoseconds after which no further event is dispatched
+     * @return The amount of dispatched events
+     */
+    public int drain(final int maxEvents, final long maxNanos) {
+        final DeferredQueue deferredQueue = this.deferredQueue();
+        this.ownerThread = Thread.currentThread();
+        final long start = System.nanoTime();
+        int count = 0;
+        while (count < maxEvents) {
+            final AbstractEvent<?> event = deferredQueue.poll();
+            if (event == null) break;
+
+            this.post(event);
+            count++;
+            if (System.nanoTime() - start >= maxNanos) break;
+        }
+        return count;
+    }
+
+    /**
+     * Calls all listeners of a given event, has error handling and calls independent listeners in parallel,
+     * see {@link de.florianmichael.dietrichevents.EventChannel#postInternalParallel(AbstractEvent)}.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    public <L extends Listener, E extends AbstractEvent<L>> E postParallel(final E event) {
+        try {
+            return postInternalParallel(event);
+        } catch (Throwable e) {
+            this.errorHandler.accept(e);
+            return event;
+        }
+    }
+
+    /**
+     * Calls all listeners of a given event, but has no error handling and calls independent listeners in parallel,
+     * see {@link de.florianmichael.dietrichevents.EventChannel#postInternalParallel(AbstractEvent)}.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Listener, E extends AbstractEvent<L>> E postInternalParallel(final E event) {
+        final EventChannel<L> channel = (EventChannel<L>) this.channels.get(event.getListenerType());
+        if (channel == null) return event;
+
+        return channel.postInternalParallel(event);
+    }
+
+    /**
+     * Buffers the given event until the next {@link de.florianmichael.dietrichevents.DietrichEvents#flush()} instead of calling its listeners.
+     * If an event of the same listener type with an equal {@link de.florianmichael.dietrichevents.types.CoalescingEvent#getCoalescingKey()}
+     * is already buffered, both events are merged with {@link de.florianmichael.dietrichevents.types.CoalescingEvent#merge(CoalescingEvent)}.
+     *
+     * @param event The event to buffer
+     */
+    public <L extends Listener> void postCoalescing(final CoalescingEvent<L> event) {
+        this.coalescingBuffer.add(event);
+    }
+
+    /**
+     * Calls all listeners of every buffered event in the order their coalescing keys have been buffered first, has error handling.
+     * Events which are buffered by a listener during the flush are dispatched by the next flush.
+     *
+     * @return The amount of dispatched events
+     */
+    public int flush() {
+        final List<CoalescingEvent<?>> events = this.coalescingBuffer.drain();
+        for (CoalescingEvent<?> event : events) {
+            this.post(event);
+        }
+        return events.size();
+    }
+
+    /**
+     * Calls all listeners of a given event, has error handling and stops as soon as a listener aborts the event,
+     * see {@link de.florianmichael.dietrichevents.DietrichEvents#postInternalBreakable(AbstractEvent)}.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    public <L extends Listener, E extends AbstractEvent<L>> E postBreakable(final E event) {
+        try {
+            return postInternalBreakable(event);
+        } catch (Throwable e) {
+            this.errorHandler.accept(e);
+            return event;
+        }
+    }
+
+    /**
+     * Calls all listeners of a given event, but has no error handling and does not reorder the priorities.
+     * In contrast to {@link de.florianmichael.dietrichevents.DietrichEvents#postInternal(AbstractEvent)} the abort state is checked
+     * before every listener, so a {@link de.florianmichael.dietrichevents.types.BreakableEvent} stops the call as soon as a listener
+     * stopped it. Listeners which have been subscribed with {@link de.florianmichael.dietrichevents.handle.Subscription#setIgnoreCancelled(boolean)}
+     * are skipped once a {@link de.florianmichael.dietrichevents.types.CancellableEvent} has been cancelled.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    @SuppressWarnings("unchecked")
+    public <L extends Listener, E extends AbstractEvent<L>> E postInternalBreakable(final E event) {
+        final EventChannel<L> channel = (EventChannel<L>) this.channels.get(event.getListenerType());
+        if (channel == null) return event;
+
+        return channel.postInternalBreakable(event);
+    }
+
     /**
      * Calls all listeners of a given event, but has no error handling and does not reorder the priorities.
      * This method is the fastest of all post methods and also the recommended one if the priorities are not dynamic.
-     * As soon as an event is aborted, the call is cancelled and the event is returned.
+     * If the event is already aborted before it is posted, no listener is called and the event is returned.
      *
      * @param event The event to post
      * @return The event
      */
     @SuppressWarnings("unchecked")
     public <L extends Listener, E extends AbstractEvent<L>> E postInternal(final E event) {
-        final List<Subscription<?>> subscriptionList = this.subscriptions.get(event.getListenerType());
-        if (event.isAbort() || subscriptionList == null) return event;
+        final EventChannel<L> channel = (EventChannel<L>) this.channels.get(event.getListenerType());
+        if (channel == null) return event;
 
-        for (Subscription<?> subscription : subscriptionList) {
-            event.call((L) subscription.getListenerType());
+        return channel.postInternal(event);
+    }
+
+    /**
+     * Evaluates the dynamic priorities of the given listener type and sorts its subscriptions again if one of them has changed.
+     *
+     * @param listenerType The listener type
+     */
+    private void updatePriorities(final Class<? extends Listener> listenerType) {
+        final EventChannel<?> channel = this.channels.get(listenerType);
+        if (channel == null || !channel.updatePriorities(this.priorityUpdateInterval)) return;
+
+        if (this.subscriptions == null) {
+            channel.update(current -> {
+                final Subscription<?>[] subscriptions = current.clone();
+                this.order(Arrays.asList(subscriptions));
+                return subscriptions;
+            });
+            return;
+        }
+        synchronized (channel) {
+            final List<Subscription<?>> subscriptionList = this.subscriptions.get(listenerType);
+            if (subscriptionList == null) return;
+
+            this.order(subscriptionList);
+            this.publish(listenerType);
         }
-        return event;
+    }
+
+    /**
+     * Republishes the {@link de.florianmichael.dietrichevents.EventChannel} of every listener type, has to be called every time
+     * an option which is part of the dispatch tables is changed.
+     */
+    @SuppressWarnings("unchecked")
+    private void republish() {
+        for (Map.Entry<Class<?>, EventChannel<?>> entry : this.channels.entrySet()) {
+            if (this.subscriptions == null) {
+                entry.getValue().update(current -> current);
+            } else {
+                synchronized (entry.getValue()) {
+                    this.publish((Class<? extends Listener>) entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Republishes the {@link de.florianmichael.dietrichevents.EventChannel} of the given listener type, has to be called every time
+     * the {@link de.florianmichael.dietrichevents.handle.Subscription} list of the listener type is changed. The list is only changed
+     * while holding the lock of the channel, so the republished snapshot always contains all changes.
+     *
+     * @param listenerType The listener type
+     */
+    private void publish(final Class<? extends Listener> listenerType) {
+        this.channel(listenerType).update(this.subscriptions.get(listenerType));
+    }
+
+    /**
+     * Key of the {@link de.florianmichael.dietrichevents.DietrichEvents#listenerIndex}, which compares listener objects by identity,
+     * so listeners with a custom equals method are still indexed separately.
+     */
+    private static final class IdentityKey {
+
+        private final Object listener;
+
+        private IdentityKey(final Object listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IdentityKey && ((IdentityKey) obj).listener == this.listener;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.listener);
+        }
+
+    }
+
+    /**
+     * Weak reference to a listener object which is compared by the identity of its listener, so it can be used as key of the
+     * {@link de.florianmichael.dietrichevents.DietrichEvents#weakIndex}. Also remembers the listener types the listener is weakly subscribed to.
+     *
+     * @param <T> The listener type
+     */
+    private static final class WeakListener<T> extends WeakReference<T> {
+
+        private final int hash;
+        private final Set<Class<? extends Listener>> listenerTypes = new HashSet<>();
+
+        private WeakListener(final T listener, final ReferenceQueue<? super T> referenceQueue) {
+            super(listener, referenceQueue);
+            this.hash = System.identityHashCode(listener);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof WeakListener)) return false;
+
+            final Object listener = this.get();
+            return listener != null && listener == ((WeakListener<?>) obj).get();
+        }
+
     }
 
 }
@@ -0,0 +1,629 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.DispatchOrder;
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.Subscription;
+import de.florianmichael.dietrichevents.metrics.MetricsSink;
+import de.florianmichael.dietrichevents.types.CancellableEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class represents the dispatch table of a single listener type. It can be obtained with
+ * {@link de.florianmichael.dietrichevents.DietrichEvents#channel(Class)} and cached by the user, posting through a channel
+ * skips the listener type lookup of the {@link de.florianmichael.dietrichevents.DietrichEvents} post methods. <br>
+ * A channel stays valid for the whole lifetime of its {@link de.florianmichael.dietrichevents.DietrichEvents} instance,
+ * subscribing and unsubscribing listeners will update the channel.
+ *
+ * @param <L> The listener type
+ */
+public final class EventChannel<L extends Listener> {
+
+    private static final Listener[] EMPTY = new Listener[0];
+    private static final Subscription<?>[] EMPTY_SUBSCRIPTIONS = new Subscription<?>[0];
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<EventChannel, Snapshot> SNAPSHOT = AtomicReferenceFieldUpdater.newUpdater(EventChannel.class, Snapshot.class, "snapshot");
+
+    private final DietrichEvents eventSystem;
+    private final Class<L> listenerType;
+
+    /**
+     * Immutable and already sorted snapshot of the subscribed listeners, replaced as a whole every time the subscriptions change.
+     */
+    private volatile Snapshot snapshot;
+    private long lastPriorityUpdate;
+
+    private final AsyncLane asyncLane;
+
+    EventChannel(final DietrichEvents eventSystem, final Class<L> listenerType) {
+        this.eventSystem = eventSystem;
+        this.listenerType = listenerType;
+        this.snapshot = new Snapshot(EMPTY_SUBSCRIPTIONS, listenerType, eventSystem);
+        this.lastPriorityUpdate = System.nanoTime();
+        this.asyncLane = new AsyncLane(eventSystem::getAsyncExecutor);
+    }
+
+    /**
+     * Rebuilds the dispatch table from the given {@link de.florianmichael.dietrichevents.handle.Subscription} list. The snapshot is taken
+     * while holding the lock of this channel, so concurrent calls can't publish an older snapshot over a newer one.
+     *
+     * @param subscriptionList The sorted subscriptions, or null if there are none
+     */
+    synchronized void update(final List<Subscription<?>> subscriptionList) {
+        final Subscription<?>[] subscriptions = subscriptionList == null ? EMPTY_SUBSCRIPTIONS : subscriptionList.toArray(EMPTY_SUBSCRIPTIONS);
+        this.snapshot = new Snapshot(subscriptions, this.listenerType, this.eventSystem);
+    }
+
+    /**
+     * Replaces the subscriptions of this channel without any lock, the given function creates the new sorted array from the current one
+     * and the result is published with a single compare-and-set. If another thread has published in the meantime, the function is applied again.
+     *
+     * @param function Creates the new subscriptions from the current ones, must not modify the given array and can return null if nothing has changed
+     * @return The subscriptions which have been replaced, or null if nothing has changed
+     */
+    Subscription<?>[] update(final UnaryOperator<Subscription<?>[]> function) {
+        while (true) {
+            final Snapshot current = this.snapshot;
+            final Subscription<?>[] subscriptions = function.apply(current.all);
+            if (subscriptions == null) return null;
+
+            if (SNAPSHOT.compareAndSet(this, current, new Snapshot(subscriptions, this.listenerType, this.eventSystem))) {
+                return current.all;
+            }
+        }
+    }
+
+    /**
+     * @return All subscriptions of this channel in their sorted order, including asynchronous ones
+     */
+    Subscription<?>[] getSubscriptions() {
+        return this.snapshot.all;
+    }
+
+    boolean hasDynamicPriorities() {
+        return this.snapshot.dynamicSubscriptions.length != 0;
+    }
+
+    /**
+     * Evaluates every dynamic priority once and compares it with the priority the current snapshot was sorted with.
+     *
+     * @param interval The minimum time in nanoseconds between two evaluations, 0 to evaluate every time
+     * @return true if at least one priority has changed and the subscriptions have to be sorted again
+     */
+    boolean updatePriorities(final long interval) {
+        final Snapshot snapshot = this.snapshot;
+        final Subscription<?>[] dynamicSubscriptions = snapshot.dynamicSubscriptions;
+        if (dynamicSubscriptions.length == 0) return false;
+
+        if (interval > 0) {
+            final long now = System.nanoTime();
+            if (now - this.lastPriorityUpdate < interval) return false;
+            this.lastPriorityUpdate = now;
+        }
+        boolean changed = false;
+        for (int i = 0; i < dynamicSubscriptions.length; i++) {
+            if (dynamicSubscriptions[i].updatePriority() != snapshot.dynamicPriorities[i]) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Calls all listeners of this channel, has error handling.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    public <E extends AbstractEvent<L>> E post(final E event) {
+        try {
+            return postInternal(event);
+        } catch (Throwable e) {
+            this.eventSystem.handleError(e);
+            return event;
+        }
+    }
+
+    /**
+     * Calls all listeners of this channel, but has no error handling.
+     * If the event is already aborted before it is posted, no listener is called and the event is returned.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends AbstractEvent<L>> E postInternal(final E event) {
+        if (event.isAbort()) return event;
+
+        final Snapshot snapshot = this.snapshot;
+        final Listener[] listeners = snapshot.listeners;
+        if (listeners == null) {
+            if (snapshot.invoker != null) {
+                snapshot.invoker.invoke(event);
+            } else {
+                this.callAll(event, snapshot.subscriptions);
+            }
+            return postAsyncListeners(event, snapshot);
+        }
+        for (int i = 0; i < listeners.length; i++) {
+            event.call((L) listeners[i]);
+        }
+        return postAsyncListeners(event, snapshot);
+    }
+
+    /**
+     * Calls all listeners of this channel, has error handling and checks the abort state after every listener,
+     * see {@link de.florianmichael.dietrichevents.EventChannel#postInternalBreakable(AbstractEvent)}.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    public <E extends AbstractEvent<L>> E postBreakable(final E event) {
+        try {
+            return postInternalBreakable(event);
+        } catch (Throwable e) {
+            this.eventSystem.handleError(e);
+            return event;
+        }
+    }
+
+    /**
+     * Calls all listeners of this channel, but has no error handling. The abort state is checked before every listener, so
+     * the remaining listeners are skipped as soon as a listener stops a {@link de.florianmichael.dietrichevents.types.BreakableEvent}.
+     * Listeners with {@link de.florianmichael.dietrichevents.handle.Subscription#isIgnoreCancelled()} are skipped once a
+     * {@link de.florianmichael.dietrichevents.types.CancellableEvent} has been cancelled.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends AbstractEvent<L>> E postInternalBreakable(final E event) {
+        final Snapshot snapshot = this.snapshot;
+        final Subscription<?>[] subscriptions = snapshot.subscriptions;
+        final CancellableEvent<?> cancellableEvent = event instanceof CancellableEvent ? (CancellableEvent<?>) event : null;
+        final int routingKey = event.getRoutingKey();
+
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (event.isAbort()) break;
+            if (cancellableEvent != null && cancellableEvent.isCancelled() && subscriptions[i].isIgnoreCancelled()) continue;
+            if (!subscriptions[i].accepts(routingKey)) continue;
+
+            final L listener = (L) subscriptions[i].getListenerType();
+            if (listener != null) {
+                event.call(listener);
+            }
+        }
+        if (event.isAbort()) return event;
+
+        return postAsyncListeners(event, snapshot);
+    }
+
+    /**
+     * Calls all listeners of this channel for every given event, has error handling. If a listener throws an exception,
+     * the remaining events of the batch are not dispatched.
+     *
+     * @param events The events to post
+     * @param order The iteration order
+     * @return The events
+     */
+    public <E extends AbstractEvent<L>> E[] postAll(final E[] events, final DispatchOrder order) {
+        try {
+            return postAllInternal(events, order);
+        } catch (Throwable e) {
+            this.eventSystem.handleError(e);
+            return events;
+        }
+    }
+
+    /**
+     * Calls all listeners of this channel for every given event, but has no error handling. The dispatch table is only resolved once
+     * for the whole batch. An event which is aborted is skipped by all following listeners, no matter which {@link de.florianmichael.dietrichevents.enums.DispatchOrder} is used.
+     *
+     * @param events The events to post
+     * @param order The iteration order
+     * @return The events
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends AbstractEvent<L>> E[] postAllInternal(final E[] events, final DispatchOrder order) {
+        final Snapshot snapshot = this.snapshot;
+        if (snapshot.listeners == null) {
+            this.postAllSubscriptions(events, order, snapshot);
+            return events;
+        }
+        final Listener[] listeners = snapshot.listeners;
+        if (order == DispatchOrder.LISTENER_MAJOR) {
+            for (Listener listener : listeners) {
+                for (E event : events) {
+                    if (!event.isAbort()) {
+                        event.call((L) listener);
+                    }
+                }
+            }
+        } else {
+            for (E event : events) {
+                for (int i = 0; i < listeners.length && !event.isAbort(); i++) {
+                    event.call((L) listeners[i]);
+                }
+            }
+        }
+        for (E event : events) {
+            postAsyncListeners(event, snapshot);
+        }
+        return events;
+    }
+
+    /**
+     * Slow path of {@link de.florianmichael.dietrichevents.EventChannel#postAllInternal(AbstractEvent[], DispatchOrder)} for snapshots without
+     * a listener array, the listeners are resolved from the subscriptions for every call to skip collected weak listeners and other routing keys.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends AbstractEvent<L>> void postAllSubscriptions(final E[] events, final DispatchOrder order, final Snapshot snapshot) {
+        if (order == DispatchOrder.LISTENER_MAJOR) {
+            for (Subscription<?> subscription : snapshot.subscriptions) {
+                final L listener = (L) subscription.getListenerType();
+                if (listener == null) continue;
+
+                for (E event : events) {
+                    if (!event.isAbort() && subscription.accepts(event.getRoutingKey())) {
+                        event.call(listener);
+                    }
+                }
+            }
+        } else {
+            for (E event : events) {
+                if (!event.isAbort()) {
+                    this.callAll(event, snapshot.subscriptions);
+                }
+            }
+        }
+        for (E event : events) {
+            postAsyncListeners(event, snapshot);
+        }
+    }
+
+    /**
+     * Calls all listeners of this channel for every given event, has error handling,
+     * see {@link de.florianmichael.dietrichevents.EventChannel#postAll(AbstractEvent[], DispatchOrder)}.
+     *
+     * @param events The events to post
+     * @param order The iteration order
+     * @return The events
+     */
+    public <E extends AbstractEvent<L>, C extends Collection<E>> C postAll(final C events, final DispatchOrder order) {
+        try {
+            return postAllInternal(events, order);
+        } catch (Throwable e) {
+            this.eventSystem.handleError(e);
+            return events;
+        }
+    }
+
+    /**
+     * Calls all listeners of this channel for every given event, but has no error handling,
+     * see {@link de.florianmichael.dietrichevents.EventChannel#postAllInternal(AbstractEvent[], DispatchOrder)}.
+     *
+     * @param events The events to post
+     * @param order The iteration order
+     * @return The events
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends AbstractEvent<L>, C extends Collection<E>> C postAllInternal(final C events, final DispatchOrder order) {
+        postAllInternal((E[]) events.toArray(new AbstractEvent<?>[0]), order);
+        return events;
+    }
+
+    /**
+     * Calls all listeners of this channel, has error handling and calls independent listeners in parallel,
+     * see {@link de.florianmichael.dietrichevents.EventChannel#postInternalParallel(AbstractEvent)}.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    public <E extends AbstractEvent<L>> E postParallel(final E event) {
+        try {
+            return postInternalParallel(event);
+        } catch (Throwable e) {
+            this.eventSystem.handleError(e);
+            return event;
+        }
+    }
+
+    /**
+     * Calls all listeners of this channel, but has no error handling. Neighbouring listeners which have been subscribed with
+     * {@link de.florianmichael.dietrichevents.handle.Subscription#setIndependent(boolean)} form a group, which is called in parallel on the
+     * parallel pool of the event system, all other listeners are called one after another on the posting thread. This method returns after all
+     * listeners have been called, so the event has to be thread safe if it is modified by independent listeners.
+     * The abort state is checked before every group and every listener outside a group.
+     *
+     * @param event The event to post
+     * @return The event
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends AbstractEvent<L>> E postInternalParallel(final E event) {
+        final Snapshot snapshot = this.snapshot;
+        final Subscription<?>[][] groups = snapshot.parallelGroups;
+        if (groups == null) return postInternal(event);
+
+        final int routingKey = event.getRoutingKey();
+        for (Subscription<?>[] group : groups) {
+            if (event.isAbort()) return event;
+
+            if (group.length == 1) {
+                final L listener = (L) group[0].getListenerType();
+                if (listener != null && group[0].accepts(routingKey)) {
+                    event.call(listener);
+                }
+            } else {
+                final ParallelCall<L> call = new ParallelCall<>(event, group, 0, group.length);
+                if (ForkJoinTask.inForkJoinPool()) {
+                    call.invoke();
+                } else {
+                    this.eventSystem.getParallelPool().invoke(call);
+                }
+            }
+        }
+        return postAsyncListeners(event, snapshot);
+    }
+
+    /**
+     * Calls all listeners of this channel on the {@link de.florianmichael.dietrichevents.AsyncLane} of this channel, events of the same
+     * listener type are always dispatched in the order they were posted. Errors are passed to the error handler and complete the future exceptionally,
+     * the future is also completed exceptionally if the asynchronous executor rejects the event or if it is an event of an
+     * {@link de.florianmichael.dietrichevents.EventPool} or {@link de.florianmichael.dietrichevents.EventPipeline}.
+     *
+     * @param event The event to post
+     * @return A future which is completed with the event after all listeners have been called
+     */
+    public <E extends AbstractEvent<L>> CompletableFuture<E> postAsync(final E event) {
+        final CompletableFuture<E> future = new CompletableFuture<>();
+        if (event.reusable) {
+            future.completeExceptionally(this.reusableEventError());
+            return future;
+        }
+        this.asyncLane.execute(() -> {
+            try {
+                if (!event.isAbort()) {
+                    final Snapshot snapshot = this.snapshot;
+                    this.callAll(event, snapshot.subscriptions);
+                    this.callAll(event, snapshot.asyncSubscriptions);
+                }
+                future.complete(event);
+            } catch (Throwable e) {
+                this.eventSystem.handleError(e);
+                future.completeExceptionally(e);
+            }
+        }, future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * Hands the event over to the listeners which have been subscribed as asynchronous, if there are any.
+     * If the asynchronous executor rejects the event, the rejection is passed to the error handler. Events of an {@link de.florianmichael.dietrichevents.EventPool}
+     * or {@link de.florianmichael.dietrichevents.EventPipeline} are never handed over, since they could be reset while the listeners are running, an error is passed to the error handler instead.
+     *
+     * @param event The event
+     * @param snapshot The snapshot the event has been dispatched with
+     * @return The event
+     */
+    private <E extends AbstractEvent<L>> E postAsyncListeners(final E event, final Snapshot snapshot) {
+        final Subscription<?>[] asyncSubscriptions = snapshot.asyncSubscriptions;
+        if (asyncSubscriptions.length == 0) return event;
+        if (event.reusable) {
+            this.eventSystem.handleError(this.reusableEventError());
+            return event;
+        }
+
+        this.asyncLane.execute(() -> {
+            try {
+                this.callAll(event, asyncSubscriptions);
+            } catch (Throwable e) {
+                this.eventSystem.handleError(e);
+            }
+        }, this.eventSystem::handleError);
+        return event;
+    }
+
+    private IllegalStateException reusableEventError() {
+        return new IllegalStateException("Events of an EventPool or EventPipeline can't be dispatched asynchronously to " + this.listenerType.getName()
+                + ", they are reset while the listeners could still be running");
+    }
+
+    /**
+     * Calls the listeners of the given subscriptions which accept the routing key of the event, listeners of weak subscriptions
+     * which have already been garbage collected are skipped.
+     *
+     * @param event The event
+     * @param subscriptions The subscriptions
+     */
+    @SuppressWarnings("unchecked")
+    private void callAll(final AbstractEvent<L> event, final Subscription<?>[] subscriptions) {
+        final int routingKey = event.getRoutingKey();
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (!subscriptions[i].accepts(routingKey)) continue;
+
+            final L listener = (L) subscriptions[i].getListenerType();
+            if (listener != null) {
+                event.call(listener);
+            }
+        }
+    }
+
+    /**
+     * @return Whether the channel has subscribers
+     */
+    public boolean hasSubscribers() {
+        return this.snapshot.all.length != 0;
+    }
+
+    /**
+     * @return The listener type
+     */
+    public Class<L> getListenerType() {
+        return listenerType;
+    }
+
+    /**
+     * This class represents a group of independent listeners, which is split in halves until every task calls a single listener.
+     */
+    private static final class ParallelCall<L extends Listener> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AbstractEvent<L> event;
+        private final Subscription<?>[] group;
+        private final int from;
+        private final int to;
+
+        private ParallelCall(final AbstractEvent<L> event, final Subscription<?>[] group, final int from, final int to) {
+            this.event = event;
+            this.group = group;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (to - from == 1) {
+                final L listener = (L) group[from].getListenerType();
+                if (listener != null && group[from].accepts(event.getRoutingKey())) {
+                    event.call(listener);
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ParallelCall<>(event, group, from, middle), new ParallelCall<>(event, group, middle, to));
+        }
+
+    }
+
+    /**
+     * This class represents an immutable state of a channel, all dispatch tables are derived from the sorted subscriptions
+     * once, so a single volatile read gives the post methods a consistent view.
+     */
+    private static final class Snapshot {
+
+        /**
+         * All subscriptions in their sorted order, including asynchronous ones.
+         */
+        private final Subscription<?>[] all;
+
+        /**
+         * The synchronous subscriptions and their listeners, the listeners are null if at least one subscription is weak or has a routing key,
+         * because a weak listener has to be resolved again on every post and keyed listeners must not receive every event, or if the listeners are called through the invoker.
+         */
+        private final Subscription<?>[] subscriptions;
+        private final Listener[] listeners;
+        private final Subscription<?>[] asyncSubscriptions;
+
+        /**
+         * Invoker for the synchronous listeners, which is the instrumented invoker if a {@link de.florianmichael.dietrichevents.metrics.MetricsSink} or watchdog is set,
+         * the routed invoker if there are subscriptions with a routing key and none of them is weak, otherwise null.
+         */
+        private final EventInvoker invoker;
+
+        /**
+         * The synchronous subscriptions split into the groups of the postParallel methods, neighbouring independent subscriptions are in the same group
+         * and every other subscription is in a group of its own. This is null if there are no independent subscriptions.
+         */
+        private final Subscription<?>[][] parallelGroups;
+
+        /**
+         * All subscriptions with a dynamic priority together with the priorities they were sorted with,
+         * if this isn't empty the subscriptions can be out of order and have to be sorted completely instead of inserting new subscriptions.
+         */
+        private final Subscription<?>[] dynamicSubscriptions;
+        private final int[] dynamicPriorities;
+
+        private Snapshot(final Subscription<?>[] all, final Class<? extends Listener> listenerType, final DietrichEvents eventSystem) {
+            final List<Subscription<?>> subscriptions = new ArrayList<>(all.length);
+            final List<Subscription<?>> asyncSubscriptions = new ArrayList<>();
+            final List<Subscription<?>> dynamicSubscriptions = new ArrayList<>();
+            boolean weak = false;
+            boolean keyed = false;
+            for (Subscription<?> subscription : all) {
+                (subscription.isAsync() ? asyncSubscriptions : subscriptions).add(subscription);
+                if (!subscription.isAsync()) {
+                    weak |= subscription.isWeak();
+                    keyed |= subscription.isKeyed();
+                }
+                if (subscription.isDynamicPriority()) {
+                    dynamicSubscriptions.add(subscription);
+                }
+            }
+            this.all = all;
+            this.subscriptions = subscriptions.toArray(EMPTY_SUBSCRIPTIONS);
+            this.asyncSubscriptions = asyncSubscriptions.toArray(EMPTY_SUBSCRIPTIONS);
+            final MetricsSink metricsSink = eventSystem.getDispatchSink();
+            if (metricsSink != null) {
+                this.invoker = EventInvoker.instrumented(listenerType, this.subscriptions, metricsSink);
+            } else if (keyed && !weak) {
+                this.invoker = EventInvoker.routed(this.subscriptions);
+            } else {
+                this.invoker = null;
+            }
+            this.listeners = weak || keyed || this.invoker != null ? null : toListeners(this.subscriptions);
+            this.parallelGroups = toParallelGroups(this.subscriptions);
+            this.dynamicSubscriptions = dynamicSubscriptions.toArray(EMPTY_SUBSCRIPTIONS);
+            this.dynamicPriorities = new int[this.dynamicSubscriptions.length];
+            for (int i = 0; i < this.dynamicPriorities.length; i++) {
+                this.dynamicPriorities[i] = this.dynamicSubscriptions[i].getPriority();
+            }
+        }
+
+        private static Subscription<?>[][] toParallelGroups(final Subscription<?>[] subscriptions) {
+            boolean independent = false;
+            for (Subscription<?> subscription : subscriptions) {
+                independent |= subscription.isIndependent();
+            }
+            if (!independent) return null;
+
+            final List<Subscription<?>[]> groups = new ArrayList<>();
+            int start = 0;
+            for (int i = 1; i <= subscriptions.length; i++) {
+                if (i < subscriptions.length && subscriptions[i].isIndependent() && subscriptions[start].isIndependent()) continue;
+
+                groups.add(Arrays.copyOfRange(subscriptions, start, i));
+                start = i;
+            }
+            return groups.toArray(new Subscription<?>[0][]);
+        }
+
+        private static Listener[] toListeners(final Subscription<?>[] subscriptions) {
+            if (subscriptions.length == 0) return EMPTY;
+
+            final Listener[] listeners = new Listener[subscriptions.length];
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i] = (Listener) subscriptions[i].getListenerType();
+            }
+            return listeners;
+        }
+
+    }
+
+}
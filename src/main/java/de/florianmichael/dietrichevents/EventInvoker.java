@@ -0,0 +1,139 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.Subscription;
+import de.florianmichael.dietrichevents.metrics.MetricsSink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents a replacement for the dispatch loop of {@link de.florianmichael.dietrichevents.EventChannel#postInternal(AbstractEvent)}.
+ * Invokers are created by the {@link de.florianmichael.dietrichevents.EventChannel} every time its listeners change, and only if an option
+ * needs a different dispatch loop, so the normal loop doesn't have to check for any of these options.
+ */
+abstract class EventInvoker {
+
+    /**
+     * Calls the event on every listener of this invoker.
+     *
+     * @param event The event to call
+     */
+    abstract <L extends Listener> void invoke(final AbstractEvent<L> event);
+
+    /**
+     * Creates a separate listener array for every routing key of the given subscriptions, which contains the listeners with that key and the listeners
+     * without a key in their sorted order. Events with a key no listener has been subscribed with only reach the listeners without a key.
+     *
+     * @param subscriptions The sorted synchronous subscriptions, which must not be weak
+     * @return The invoker for the given subscriptions
+     */
+    static EventInvoker routed(final Subscription<?>[] subscriptions) {
+        final int[] routingKeys = Arrays.stream(subscriptions).filter(Subscription::isKeyed).mapToInt(Subscription::getRoutingKey).distinct().sorted().toArray();
+        final Listener[][] listeners = new Listener[routingKeys.length][];
+        for (int i = 0; i < routingKeys.length; i++) {
+            listeners[i] = listeners(subscriptions, routingKeys[i]);
+        }
+        return new Routed(routingKeys, listeners, listeners(subscriptions, Subscription.NO_ROUTING_KEY));
+    }
+
+    private static Listener[] listeners(final Subscription<?>[] subscriptions, final int routingKey) {
+        final List<Listener> listeners = new ArrayList<>();
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.accepts(routingKey)) {
+                listeners.add((Listener) subscription.getListenerType());
+            }
+        }
+        return listeners.toArray(new Listener[0]);
+    }
+
+    private static final class Routed extends EventInvoker {
+
+        private final int[] routingKeys;
+        private final Listener[][] listeners;
+        private final Listener[] unkeyed;
+
+        private Routed(final int[] routingKeys, final Listener[][] listeners, final Listener[] unkeyed) {
+            this.routingKeys = routingKeys;
+            this.listeners = listeners;
+            this.unkeyed = unkeyed;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <L extends Listener> void invoke(AbstractEvent<L> event) {
+            final int index = Arrays.binarySearch(routingKeys, event.getRoutingKey());
+            final Listener[] listeners = index < 0 ? unkeyed : this.listeners[index];
+            for (int i = 0; i < listeners.length; i++) {
+                event.call((L) listeners[i]);
+            }
+        }
+
+    }
+
+    /**
+     * Measures every listener call and reports it to the given sink, this invoker replaces the normal dispatch path of a channel
+     * while a {@link de.florianmichael.dietrichevents.metrics.MetricsSink} is set, so the normal path doesn't need to check for it.
+     *
+     * @param listenerType The listener type of the channel
+     * @param subscriptions The sorted synchronous subscriptions
+     * @param metricsSink The sink to report to
+     * @return The invoker for the given subscriptions
+     */
+    static EventInvoker instrumented(final Class<? extends Listener> listenerType, final Subscription<?>[] subscriptions, final MetricsSink metricsSink) {
+        return new Instrumented(listenerType, subscriptions, metricsSink);
+    }
+
+    private static final class Instrumented extends EventInvoker {
+
+        private final Class<? extends Listener> listenerType;
+        private final Subscription<?>[] subscriptions;
+        private final MetricsSink metricsSink;
+
+        private Instrumented(final Class<? extends Listener> listenerType, final Subscription<?>[] subscriptions, final MetricsSink metricsSink) {
+            this.listenerType = listenerType;
+            this.subscriptions = subscriptions;
+            this.metricsSink = metricsSink;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <L extends Listener> void invoke(AbstractEvent<L> event) {
+            final long start = System.nanoTime();
+            final int routingKey = event.getRoutingKey();
+            int fanOut = 0;
+            for (Subscription<?> subscription : subscriptions) {
+                if (!subscription.accepts(routingKey)) continue;
+
+                final L listener = (L) subscription.getListenerType();
+                if (listener == null) continue;
+
+                final long listenerStart = System.nanoTime();
+                event.call(listener);
+                metricsSink.onListener(listenerType, listener, System.nanoTime() - listenerStart);
+                fanOut++;
+            }
+            metricsSink.onPost(listenerType, System.nanoTime() - start, fanOut, event.isAbort());
+        }
+
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.WaitStrategy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a ring of preallocated events which are handed from any amount of producer threads to one or more consumer stages.
+ * Producers claim a sequence without any lock, fill the event of the sequence and publish it. Every stage runs on its own thread and handles
+ * the events in sequence order after the previous stage has handled them, aborted events are skipped. The last stage resets the events
+ * with {@link de.florianmichael.dietrichevents.AbstractEvent#reset()}, so their slots can be reused. Since asynchronous listeners could
+ * still be running at that point, the events are never handed to asynchronous subscriptions, which report an {@link java.lang.IllegalStateException}
+ * to the error handler of the event system instead.
+ * Neither producing nor consuming allocates anything.
+ * <pre>{@code
+ * final EventPipeline<PacketEvent> pipeline = new EventPipeline<>(DietrichEvents.global(), PacketEvent::new, 4096, WaitStrategy.YIELD);
+ * pipeline.start();
+ *
+ * final long sequence = pipeline.next();
+ * pipeline.get(sequence).setPacket(packet);
+ * pipeline.publish(sequence);
+ * }</pre>
+ *
+ * @param <E> The event type
+ */
+public final class EventPipeline<E extends AbstractEvent<?>> {
+
+    private static final int SPIN_TRIES = 100;
+
+    private final Object[] events;
+    private final int mask;
+    private final int indexShift;
+    private final WaitStrategy waitStrategy;
+    private final List<Consumer<? super E>> stages;
+
+    /**
+     * The last claimed sequence.
+     */
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    /**
+     * The lap every slot has been published for, a sequence is published once the slot contains the lap of the sequence.
+     */
+    private final AtomicIntegerArray published;
+
+    /**
+     * The last sequence every stage has handled.
+     */
+    private final AtomicLong[] stageSequences;
+
+    private Consumer<Throwable> errorHandler = Throwable::printStackTrace;
+    private Thread[] threads;
+    private volatile boolean running;
+
+    /**
+     * Creates a pipeline with a single stage, which posts the events to the given event system.
+     *
+     * @param eventSystem The event system to post the events to
+     * @param factory The factory to preallocate the events with
+     * @param size The amount of events in the ring, rounded up to the next power of two
+     * @param waitStrategy The wait strategy of producers and stages
+     */
+    public EventPipeline(final DietrichEvents eventSystem, final Supplier<E> factory, final int size, final WaitStrategy waitStrategy) {
+        this(factory, size, waitStrategy, Collections.<Consumer<? super E>>singletonList(event -> eventSystem.post((AbstractEvent<?>) event)));
+    }
+
+    /**
+     * @param factory The factory to preallocate the events with
+     * @param size The amount of events in the ring, rounded up to the next power of two
+     * @param waitStrategy The wait strategy of producers and stages
+     * @param stages The stages in their order, e.g. a decoding stage followed by a stage which posts the events to an event system
+     */
+    public EventPipeline(final Supplier<E> factory, final int size, final WaitStrategy waitStrategy, final List<Consumer<? super E>> stages) {
+        if (size < 1 || size > 1 << 30) throw new IllegalArgumentException("size must be between 1 and 2^30");
+        if (stages.isEmpty()) throw new IllegalArgumentException("stages must not be empty");
+
+        final int capacity = size == 1 ? 1 : Integer.highestOneBit((size - 1) << 1);
+        this.events = new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            final E event = factory.get();
+            event.reusable = true;
+            this.events[i] = event;
+        }
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.waitStrategy = waitStrategy;
+        this.stages = stages;
+
+        this.published = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.published.set(i, -1);
+        }
+        this.stageSequences = new AtomicLong[stages.size()];
+        for (int i = 0; i < this.stageSequences.length; i++) {
+            this.stageSequences[i] = new AtomicLong(-1);
+        }
+    }
+
+    /**
+     * API method to overwrite the default error handler, which is called if a stage throws an exception. The event is still handed to the following stages.
+     *
+     * @param errorHandler A callback that is called when an exception is thrown by a stage
+     */
+    public void setErrorHandler(final Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Starts a daemon thread for every stage.
+     */
+    public void start() {
+        start(runnable -> {
+            final Thread thread = new Thread(runnable, "EventPipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a thread for every stage.
+     *
+     * @param threadFactory The factory to create the stage threads with
+     */
+    public synchronized void start(final ThreadFactory threadFactory) {
+        if (this.threads != null) throw new IllegalStateException("The pipeline has already been started");
+
+        this.running = true;
+        this.threads = new Thread[this.stages.size()];
+        for (int i = 0; i < this.threads.length; i++) {
+            final int stage = i;
+            this.threads[i] = threadFactory.newThread(() -> this.runStage(stage));
+            this.threads[i].start();
+        }
+    }
+
+    /**
+     * Stops all stages after they have handled every event which has been published so far and waits for their threads.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (this.threads == null) return;
+
+        this.running = false;
+        for (Thread thread : this.threads) {
+            thread.join();
+        }
+        this.threads = null;
+    }
+
+    /**
+     * Claims the next sequence, waits if all slots are still in use by the stages.
+     *
+     * @return The sequence, which has to be published with {@link de.florianmichael.dietrichevents.EventPipeline#publish(long)}
+     */
+    public long next() {
+        final long sequence = this.cursor.incrementAndGet();
+        final long wrapPoint = sequence - this.events.length;
+        final AtomicLong lastStage = this.stageSequences[this.stageSequences.length - 1];
+        int tries = 0;
+        while (wrapPoint > lastStage.get()) {
+            tries = this.waitStrategy(tries);
+        }
+        return sequence;
+    }
+
+    /**
+     * @param sequence A claimed sequence
+     * @return The event of the given sequence, which can be filled until the sequence is published
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final long sequence) {
+        return (E) this.events[(int) sequence & this.mask];
+    }
+
+    /**
+     * Hands the event of the given sequence over to the first stage.
+     *
+     * @param sequence A claimed sequence
+     */
+    public void publish(final long sequence) {
+        this.published.lazySet((int) sequence & this.mask, (int) (sequence >>> this.indexShift));
+    }
+
+    /**
+     * Claims the next sequence, fills its event with the given translator and publishes it.
+     *
+     * @param translator The translator to fill the event with
+     */
+    public void publish(final Consumer<? super E> translator) {
+        final long sequence = this.next();
+        try {
+            translator.accept(this.get(sequence));
+        } finally {
+            this.publish(sequence);
+        }
+    }
+
+    private boolean isPublished(final long sequence) {
+        return this.published.get((int) sequence & this.mask) == (int) (sequence >>> this.indexShift);
+    }
+
+    private void runStage(final int stage) {
+        final Consumer<? super E> handler = this.stages.get(stage);
+        final AtomicLong sequence = this.stageSequences[stage];
+        final AtomicLong previousStage = stage == 0 ? null : this.stageSequences[stage - 1];
+        final boolean lastStage = stage == this.stageSequences.length - 1;
+
+        long next = sequence.get() + 1;
+        int tries = 0;
+        while (true) {
+            // Has to be checked before looking for events, otherwise events published right before stopping could be missed
+            final boolean stopped = !this.running && (previousStage == null || !this.threads[stage - 1].isAlive());
+            long available = next - 1;
+            if (previousStage == null) {
+                while (available - next < this.mask && this.isPublished(available + 1)) {
+                    available++;
+                }
+            } else {
+                available = previousStage.get();
+            }
+            if (available < next) {
+                if (stopped) break;
+
+                tries = this.waitStrategy(tries);
+                continue;
+            }
+            tries = 0;
+            for (; next <= available; next++) {
+                final E event = this.get(next);
+                try {
+                    if (!event.isAbort()) {
+                        handler.accept(event);
+                    }
+                } catch (Throwable e) {
+                    this.errorHandler.accept(e);
+                }
+                if (lastStage) {
+                    event.reset();
+                }
+            }
+            sequence.lazySet(available);
+        }
+    }
+
+    private int waitStrategy(final int tries) {
+        if (this.waitStrategy == WaitStrategy.BUSY_SPIN || tries < SPIN_TRIES) return tries + 1;
+
+        if (this.waitStrategy == WaitStrategy.YIELD) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1_000);
+        }
+        return tries + 1;
+    }
+
+}
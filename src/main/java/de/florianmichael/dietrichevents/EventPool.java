@@ -0,0 +1,110 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * This class represents a per-thread pool of reusable events, which allows posting events without allocating a new event object every time.
+ * Every thread has its own pool, so acquiring and releasing events doesn't need any synchronization. Posting is reentrant, because an event
+ * which is acquired inside a listener while another event of the same pool is being posted is simply a different instance. <br>
+ * Pooled events are reset as soon as they are released, which can happen while asynchronous listeners are still running. They are therefore
+ * never handed to asynchronous subscriptions or {@link de.florianmichael.dietrichevents.DietrichEvents#postAsync(AbstractEvent)}, which report
+ * an {@link java.lang.IllegalStateException} instead. Deferred and coalesced events have to be released only after they have been dispatched.
+ * <pre>{@code
+ * final ExampleEvent event = pool.acquire();
+ * event.setStateType(EventStateType.PRE);
+ * DietrichEvents.global().post(event);
+ * pool.release(event);
+ * }</pre>
+ *
+ * @param <E> The event type
+ */
+public final class EventPool<E extends AbstractEvent<?>> {
+
+    private final Supplier<E> factory;
+    private final int maxSize;
+    private final ThreadLocal<Pool> pools = ThreadLocal.withInitial(Pool::new);
+
+    /**
+     * @param factory The factory to create new events with, if the pool of the current thread is empty
+     * @param maxSize The maximum amount of released events kept per thread
+     */
+    public EventPool(final Supplier<E> factory, final int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param factory The factory to create new events with, if the pool of the current thread is empty
+     */
+    public EventPool(final Supplier<E> factory) {
+        this(factory, 16);
+    }
+
+    /**
+     * @return A reset event of the pool of the current thread, or a new event if the pool is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E acquire() {
+        final Pool pool = this.pools.get();
+        if (pool.size == 0) {
+            final E event = this.factory.get();
+            event.reusable = true;
+            return event;
+        }
+
+        final E event = (E) pool.events[--pool.size];
+        pool.events[pool.size] = null;
+        return event;
+    }
+
+    /**
+     * Resets the given event with {@link de.florianmichael.dietrichevents.AbstractEvent#reset()} and returns it to the pool of the current thread.
+     * The event must not be used anymore after it has been released. Releasing an event which is still in the pool of the current thread
+     * throws, since it would be handed out twice otherwise. A release on another thread or after the event has been acquired again can't be detected.
+     *
+     * @param event The event to release
+     * @throws IllegalStateException If the event is already in the pool of the current thread
+     */
+    public void release(final E event) {
+        final Pool pool = this.pools.get();
+        for (int i = 0; i < pool.size; i++) {
+            if (pool.events[i] == event) throw new IllegalStateException("The event has already been released");
+        }
+        event.reset();
+        event.reusable = true;
+        if (pool.size == this.maxSize) return;
+
+        if (pool.size == pool.events.length) {
+            pool.events = Arrays.copyOf(pool.events, Math.min(this.maxSize, pool.events.length * 2));
+        }
+        pool.events[pool.size++] = event;
+    }
+
+    private static final class Pool {
+
+        private Object[] events = new Object[4];
+        private int size;
+
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.ListenerRegistry;
+
+import java.util.Optional;
+
+/**
+ * This class loads the {@link de.florianmichael.dietrichevents.handle.ListenerRegistry} which the annotation processor generated for a class.
+ * The registry is looked up once per class and cached in a {@link java.lang.ClassValue}, classes without a registry fall back to reflection.
+ */
+final class ListenerRegistries {
+
+    private static final ClassValue<Optional<ListenerRegistry<?>>> CACHE = new ClassValue<Optional<ListenerRegistry<?>>>() {
+
+        @Override
+        protected Optional<ListenerRegistry<?>> computeValue(final Class<?> type) {
+            if (type.isArray() || type.isPrimitive() || type.isSynthetic()) return Optional.empty();
+
+            try {
+                final Class<?> registry = Class.forName(type.getName() + ListenerRegistry.SUFFIX, true, type.getClassLoader());
+                if (!ListenerRegistry.class.isAssignableFrom(registry)) return Optional.empty();
+
+                return Optional.of((ListenerRegistry<?>) registry.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Either no registry was generated for the class or it can't be loaded, e.g. because it was generated for an older version of the class
+                return Optional.empty();
+            }
+        }
+
+    };
+
+    /**
+     * @param type The class
+     * @return The generated registry of the given class, or null if there is none
+     */
+    static ListenerRegistry<?> get(final Class<?> type) {
+        return CACHE.get(type).orElse(null);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.ListenerRegistry;
+
+import java.util.*;
+
+/**
+ * This class resolves all listener types a class is implementing, including listener interfaces which are inherited from
+ * superclasses or extended by other listener interfaces. The result is computed once per class and cached in a {@link java.lang.ClassValue},
+ * so repeated subscribeClass and unsubscribeClass calls for the same class don't need any reflection.
+ * If the annotation processor generated a {@link de.florianmichael.dietrichevents.handle.ListenerRegistry} for a class, its listener types are used instead.
+ */
+final class ListenerTypes {
+
+    private static final ClassValue<List<Class<? extends Listener>>> CACHE = new ClassValue<List<Class<? extends Listener>>>() {
+
+        @Override
+        protected List<Class<? extends Listener>> computeValue(final Class<?> type) {
+            final ListenerRegistry<?> registry = ListenerRegistries.get(type);
+            if (registry != null) return registry.getListenerTypes();
+
+            final Set<Class<? extends Listener>> listenerTypes = new LinkedHashSet<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Class<?> classInterface : current.getInterfaces()) {
+                    collect(classInterface, true, listenerTypes);
+                }
+            }
+            return Collections.unmodifiableList(new ArrayList<>(listenerTypes));
+        }
+
+    };
+
+    /**
+     * @param type The class
+     * @return All listener types of the given class in declaration order, the list is immutable and cached
+     */
+    static List<Class<? extends Listener>> get(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Adds the given interface and all of its super-interfaces which are listener types. The {@link de.florianmichael.dietrichevents.handle.Listener}
+     * marker interface itself is only added if a class is implementing it directly, since every listener type is extending it.
+     *
+     * @param classInterface The interface
+     * @param declared Whether the interface is declared directly on a class
+     * @param listenerTypes The set to add the listener types to
+     */
+    @SuppressWarnings("unchecked")
+    private static void collect(final Class<?> classInterface, final boolean declared, final Set<Class<? extends Listener>> listenerTypes) {
+        if (!Listener.class.isAssignableFrom(classInterface)) return;
+        if (classInterface == Listener.class && !declared) return;
+
+        if (listenerTypes.add((Class<? extends Listener>) classInterface)) {
+            for (Class<?> superInterface : classInterface.getInterfaces()) {
+                collect(superInterface, false, listenerTypes);
+            }
+        }
+    }
+
+}
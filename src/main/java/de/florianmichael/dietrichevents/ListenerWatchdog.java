@@ -0,0 +1,258 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.QuarantineAction;
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.metrics.MetricsSink;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a watchdog which measures every listener call against a time budget of its listener type. Listeners which exceed
+ * their budget too often are reported to the callback and quarantined with the {@link de.florianmichael.dietrichevents.enums.QuarantineAction}
+ * of the watchdog. A watchdog is enabled with {@link de.florianmichael.dietrichevents.DietrichEvents#setWatchdog(ListenerWatchdog)},
+ * which swaps the post methods to the instrumented dispatch path just like a {@link de.florianmichael.dietrichevents.metrics.MetricsSink}.
+ * <pre>{@code
+ * final ListenerWatchdog watchdog = new ListenerWatchdog(5, TimeUnit.MILLISECONDS, report -> logger.warn(report.toString()));
+ * watchdog.setQuarantineAction(QuarantineAction.ASYNC);
+ * DietrichEvents.global().setWatchdog(watchdog);
+ * }</pre>
+ * Note: Only the synchronous listeners called by the post, postInternal and postPush methods are measured, which includes events posted
+ * by {@link de.florianmichael.dietrichevents.DietrichEvents#drain()}, {@link de.florianmichael.dietrichevents.DietrichEvents#flush()} and the default stage of an
+ * {@link de.florianmichael.dietrichevents.EventPipeline}. The postBreakable, postAll, postParallel and postAsync methods including their internal variants as well as
+ * asynchronous subscriptions bypass the watchdog, so a listener which is only slow in there is never reported or quarantined.
+ */
+public final class ListenerWatchdog implements MetricsSink {
+
+    private final long defaultBudget;
+    private final Consumer<Report> callback;
+    private final Map<Class<? extends Listener>, Long> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of budget violations of every listener which hasn't been quarantined yet, only touched by calls which exceeded their budget.
+     * The listeners are only weakly referenced, so unsubscribed listeners can still be garbage collected, the entries of collected listeners
+     * are removed with the next violation.
+     */
+    private final Map<ViolationKey, int[]> violations = new HashMap<>();
+    private final ReferenceQueue<Listener> referenceQueue = new ReferenceQueue<>();
+
+    private int maxViolations = 3;
+    private QuarantineAction quarantineAction = QuarantineAction.NONE;
+    private DietrichEvents eventSystem;
+
+    /**
+     * @param defaultBudget The budget of every listener type without an own budget
+     * @param unit The time unit of the budget
+     * @param callback The callback which is called with every listener that has exceeded its budget too often
+     */
+    public ListenerWatchdog(final long defaultBudget, final TimeUnit unit, final Consumer<Report> callback) {
+        this.defaultBudget = unit.toNanos(defaultBudget);
+        this.callback = callback;
+    }
+
+    /**
+     * API method to set the budget of a single listener type.
+     *
+     * @param listenerType The listener type
+     * @param budget The maximum time a single listener call is allowed to take
+     * @param unit The time unit of the budget
+     */
+    public void setBudget(final Class<? extends Listener> listenerType, final long budget, final TimeUnit unit) {
+        this.budgets.put(listenerType, unit.toNanos(budget));
+    }
+
+    /**
+     * API method to set how often a listener can exceed its budget until it is reported, by default it is reported at the third violation.
+     *
+     * @param maxViolations The amount of violations
+     */
+    public void setMaxViolations(final int maxViolations) {
+        if (maxViolations < 1) throw new IllegalArgumentException("maxViolations must be at least 1");
+
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * API method to set what is done with reported listeners, by default they are only reported.
+     *
+     * @param quarantineAction The action
+     */
+    public void setQuarantineAction(final QuarantineAction quarantineAction) {
+        this.quarantineAction = quarantineAction;
+    }
+
+    void bind(final DietrichEvents eventSystem) {
+        this.eventSystem = eventSystem;
+    }
+
+    /**
+     * Forgets the budget violations of all listeners.
+     */
+    public void reset() {
+        synchronized (this.violations) {
+            this.violations.clear();
+        }
+    }
+
+    @Override
+    public void onPost(final Class<? extends Listener> listenerType, final long nanos, final int fanOut, final boolean aborted) {
+    }
+
+    @Override
+    public void onListener(final Class<? extends Listener> listenerType, final Listener listener, final long nanos) {
+        final Long budget = this.budgets.get(listenerType);
+        if (nanos <= (budget == null ? this.defaultBudget : budget)) return;
+
+        final int count;
+        synchronized (this.violations) {
+            Reference<? extends Listener> collected;
+            while ((collected = this.referenceQueue.poll()) != null) {
+                this.violations.remove(collected);
+            }
+            final ViolationKey key = new ViolationKey(listener, null);
+            int[] violations = this.violations.get(key);
+            if (violations == null) {
+                this.violations.put(new ViolationKey(listener, this.referenceQueue), violations = new int[1]);
+            }
+            count = ++violations[0];
+            if (count >= this.maxViolations) {
+                this.violations.remove(key);
+            }
+        }
+        if (count < this.maxViolations) return;
+
+        final QuarantineAction quarantineAction = this.quarantineAction;
+        final DietrichEvents eventSystem = this.eventSystem;
+        if (eventSystem != null) {
+            if (quarantineAction == QuarantineAction.ASYNC) {
+                eventSystem.moveToAsync(listenerType, listener);
+            } else if (quarantineAction == QuarantineAction.UNSUBSCRIBE) {
+                eventSystem.removeListener(listenerType, listener);
+            }
+        }
+        this.callback.accept(new Report(listenerType, listener, nanos, count, quarantineAction, new Throwable().getStackTrace()));
+    }
+
+    /**
+     * Weak reference to a listener which is compared by the identity of the listener, so it can be used as key of the violations.
+     */
+    private static final class ViolationKey extends WeakReference<Listener> {
+
+        private final int hash;
+
+        private ViolationKey(final Listener listener, final ReferenceQueue<Listener> referenceQueue) {
+            super(listener, referenceQueue);
+            this.hash = System.identityHashCode(listener);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ViolationKey)) return false;
+
+            final Listener listener = this.get();
+            return listener != null && listener == ((ViolationKey) obj).get();
+        }
+
+    }
+
+    /**
+     * This class represents a listener which has exceeded its budget too often.
+     */
+    public static final class Report {
+
+        private final Class<? extends Listener> listenerType;
+        private final Listener listener;
+        private final long nanos;
+        private final int violations;
+        private final QuarantineAction quarantineAction;
+        private final StackTraceElement[] stackTrace;
+
+        private Report(final Class<? extends Listener> listenerType, final Listener listener, final long nanos, final int violations, final QuarantineAction quarantineAction, final StackTraceElement[] stackTrace) {
+            this.listenerType = listenerType;
+            this.listener = listener;
+            this.nanos = nanos;
+            this.violations = violations;
+            this.quarantineAction = quarantineAction;
+            this.stackTrace = stackTrace;
+        }
+
+        /**
+         * @return The listener type the listener has been called for
+         */
+        public Class<? extends Listener> getListenerType() {
+            return listenerType;
+        }
+
+        /**
+         * @return The listener
+         */
+        public Listener getListener() {
+            return listener;
+        }
+
+        /**
+         * @return The time of the last call in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return How often the listener has exceeded its budget
+         */
+        public int getViolations() {
+            return violations;
+        }
+
+        /**
+         * @return The action which has been applied to the listener
+         */
+        public QuarantineAction getQuarantineAction() {
+            return quarantineAction;
+        }
+
+        /**
+         * @return The stack of the posting thread at the last call, which shows where the event has been posted from
+         */
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+
+        @Override
+        public String toString() {
+            return "Listener " + listener + " of " + listenerType.getName() + " took " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms, exceeded its budget "
+                    + violations + " times (" + quarantineAction + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.ListenerRegistry;
+import de.florianmichael.dietrichevents.handle.MethodBinding;
+import de.florianmichael.dietrichevents.handle.Subscribe;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * This class resolves all methods of a class which are annotated with {@link de.florianmichael.dietrichevents.handle.Subscribe}, including
+ * inherited methods. The result is computed once per class and cached in a {@link java.lang.ClassValue}, every method is bound into an
+ * implementation of its listener type with the {@link java.lang.invoke.LambdaMetafactory} the first time an object of the class is subscribed.
+ * If the annotation processor generated a {@link de.florianmichael.dietrichevents.handle.ListenerRegistry} for a class, its bindings are used instead.
+ */
+final class MethodListeners {
+
+    /**
+     * The default lookup, which can only bind public methods of public classes that are visible to the class loader of the event system.
+     */
+    static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<List<Handler>> CACHE = new ClassValue<List<Handler>>() {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected List<Handler> computeValue(final Class<?> type) {
+            final List<Handler> handlers = new ArrayList<>();
+            final ListenerRegistry<Object> registry = (ListenerRegistry<Object>) ListenerRegistries.get(type);
+            if (registry != null && registry.getMethodBindings() != null) {
+                for (MethodBinding<Object> binding : registry.getMethodBindings()) {
+                    handlers.add(new Handler(binding));
+                }
+                return Collections.unmodifiableList(handlers);
+            }
+            final Set<String> signatures = new HashSet<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Method method : current.getDeclaredMethods()) {
+                    final Subscribe subscribe = method.getAnnotation(Subscribe.class);
+                    if (subscribe == null || method.isBridge()) continue;
+
+                    // Overridden methods are only bound once, since the handle of the super method would call the override anyway
+                    if (!Modifier.isPrivate(method.getModifiers()) && !signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()))) continue;
+
+                    handlers.add(new Handler(method, subscribe.value(), subscribe.priority()));
+                }
+            }
+            return Collections.unmodifiableList(handlers);
+        }
+
+    };
+
+    /**
+     * @param type The class
+     * @return All annotated methods of the given class, the list is immutable and cached
+     */
+    static List<Handler> get(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @param listenerType The listener type
+     * @return The single abstract method of the given listener type
+     */
+    private static Method getListenerMethod(final Class<? extends Listener> listenerType) {
+        Method listenerMethod = null;
+        for (Method method : listenerType.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) continue;
+            if (listenerMethod != null) {
+                throw new IllegalArgumentException(listenerType.getName() + " has more than one abstract method");
+            }
+            listenerMethod = method;
+        }
+        if (listenerMethod == null) {
+            throw new IllegalArgumentException(listenerType.getName() + " has no abstract method");
+        }
+        return listenerMethod;
+    }
+
+    /**
+     * A method annotated with {@link de.florianmichael.dietrichevents.handle.Subscribe}.
+     */
+    static final class Handler {
+
+        final Class<? extends Listener> listenerType;
+        final int priority;
+        private final Method method;
+        private final Method listenerMethod;
+        private final MethodBinding<Object> binding;
+        private volatile MethodHandle factory;
+
+        private Handler(final MethodBinding<Object> binding) {
+            this.method = null;
+            this.listenerType = binding.getListenerType();
+            this.priority = binding.getPriority();
+            this.listenerMethod = null;
+            this.binding = binding;
+        }
+
+        private Handler(final Method method, final Class<? extends Listener> listenerType, final int priority) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalArgumentException(method + " has to be non-static to be subscribed");
+            }
+            if (!listenerType.isInterface()) {
+                throw new IllegalArgumentException(listenerType.getName() + " is not an interface");
+            }
+            final Method listenerMethod = getListenerMethod(listenerType);
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            final Class<?>[] listenerParameterTypes = listenerMethod.getParameterTypes();
+            boolean compatible = parameterTypes.length == listenerParameterTypes.length;
+            for (int i = 0; i < parameterTypes.length && compatible; i++) {
+                compatible = parameterTypes[i].isAssignableFrom(listenerParameterTypes[i]);
+            }
+            if (!compatible) {
+                throw new IllegalArgumentException(method + " doesn't match the parameters of " + listenerMethod);
+            }
+            this.method = method;
+            this.listenerType = listenerType;
+            this.priority = priority;
+            this.listenerMethod = listenerMethod;
+            this.binding = null;
+        }
+
+        /**
+         * Creates an implementation of the listener type which calls the method on the given target. The factory of the implementation is
+         * spun once with the first lookup which has access to the method and reused for all further targets, generated bindings ignore the lookup.
+         *
+         * @param target The object to call the method on
+         * @param lookup A lookup with access to the method and its class
+         * @return The listener
+         */
+        Listener bind(final Object target, final MethodHandles.Lookup lookup) {
+            if (this.binding != null) return this.binding.bind(target);
+
+            MethodHandle factory = this.factory;
+            if (factory == null) {
+                try {
+                    final MethodType listenerMethodType = MethodType.methodType(this.listenerMethod.getReturnType(), this.listenerMethod.getParameterTypes());
+                    factory = LambdaMetafactory.metafactory(lookup, this.listenerMethod.getName(), MethodType.methodType(this.listenerType, this.method.getDeclaringClass()),
+                            listenerMethodType, lookup.unreflect(this.method), listenerMethodType).getTarget();
+                } catch (Throwable throwable) {
+                    throw new IllegalArgumentException("Failed to bind " + this.method + ", subscribe it with a lookup that has access to it", throwable);
+                }
+                this.factory = factory;
+            }
+            try {
+                return (Listener) factory.invoke(target);
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Failed to create the listener of " + this.method, throwable);
+            }
+        }
+
+    }
+
+}
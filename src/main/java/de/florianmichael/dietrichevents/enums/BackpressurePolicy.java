@@ -0,0 +1,46 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.enums;
+
+/**
+ * This class represents what {@link de.florianmichael.dietrichevents.DietrichEvents#postDeferred(de.florianmichael.dietrichevents.AbstractEvent)} does if the deferred queue is full
+ */
+public enum BackpressurePolicy {
+
+    /**
+     * The posting thread waits until the owner thread has drained enough events. If the owner thread, which has drained the queue last, posts
+     * a deferred event itself, it can't wait for itself and the event is posted directly like {@link de.florianmichael.dietrichevents.enums.BackpressurePolicy#CALLER_RUNS}
+     */
+    BLOCK,
+
+    /**
+     * The new event is discarded
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest queued event is discarded to make room for the new event
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is posted directly on the posting thread
+     */
+    CALLER_RUNS
+
+}
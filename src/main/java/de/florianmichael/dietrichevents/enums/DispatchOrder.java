@@ -0,0 +1,35 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.enums;
+
+/**
+ * This class represents the iteration order of the postAll methods in {@link de.florianmichael.dietrichevents.DietrichEvents}
+ */
+public enum DispatchOrder {
+
+    /**
+     * Every event is passed to all listeners before the next event is dispatched, just like calling post for each event
+     */
+    EVENT_MAJOR,
+
+    /**
+     * Every listener receives all events before the next listener is called, this keeps the code and data of a listener hot in cache
+     */
+    LISTENER_MAJOR
+
+}
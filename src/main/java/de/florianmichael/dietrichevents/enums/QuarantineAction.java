@@ -0,0 +1,40 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.enums;
+
+/**
+ * This class represents what the {@link de.florianmichael.dietrichevents.ListenerWatchdog} does with a listener which has exceeded its budget too often
+ */
+public enum QuarantineAction {
+
+    /**
+     * The listener is only reported
+     */
+    NONE,
+
+    /**
+     * The listener is moved to the asynchronous lane of its listener type, see {@link de.florianmichael.dietrichevents.handle.Subscription#setAsync(boolean)}
+     */
+    ASYNC,
+
+    /**
+     * The listener is unsubscribed from its listener type
+     */
+    UNSUBSCRIBE
+
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.enums;
+
+/**
+ * This class represents how the threads of an {@link de.florianmichael.dietrichevents.EventPipeline} wait for events or free slots
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins without giving up the core, lowest latency but every waiting thread keeps a core busy
+     */
+    BUSY_SPIN,
+
+    /**
+     * Spins a few times and then yields to other threads, low latency while leaving the core to other threads if needed
+     */
+    YIELD,
+
+    /**
+     * Spins a few times and then parks for a short time, the lowest cpu usage but the highest latency
+     */
+    PARK
+
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents.handle;
+
+import java.util.List;
+
+/**
+ * A registry of a listener class which is generated at compile time by the annotation processor of DietrichEvents. If the registry of a class
+ * is present, it replaces the reflection which is otherwise used by {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeClass(Listener)} and
+ * {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object)} to find the listener types and annotated methods of the class.
+ * This interface is implemented by generated code and should not be implemented by the user.
+ *
+ * @param <T> The listener class
+ */
+public interface ListenerRegistry<T> {
+
+    /**
+     * The suffix which is appended to the binary name of a listener class to get the name of its registry.
+     */
+    String SUFFIX = "$DietrichEventsRegistry";
+
+    /**
+     * @return All listener types the class is implementing, in the same order as they would be found at runtime
+     */
+    List<Class<? extends Listener>> getListenerTypes();
+
+    /**
+     * @return All methods of the class annotated with {@link de.florianmichael.dietrichevents.handle.Subscribe}, or null if they have to be bound at runtime
+     */
+    List<MethodBinding<T>> getMethodBindings();
+
+}
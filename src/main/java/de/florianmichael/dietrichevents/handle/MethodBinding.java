@@ -0,0 +1,62 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents.handle;
+
+import java.util.function.Function;
+
+/**
+ * A method annotated with {@link de.florianmichael.dietrichevents.handle.Subscribe} which has been bound at compile time,
+ * see {@link de.florianmichael.dietrichevents.handle.ListenerRegistry}.
+ *
+ * @param <T> The class declaring the method
+ */
+public final class MethodBinding<T> {
+
+    private final Class<? extends Listener> listenerType;
+    private final int priority;
+    private final Function<T, ? extends Listener> factory;
+
+    /**
+     * @param listenerType The listener type the method is implementing
+     * @param priority The priority of the subscription
+     * @param factory Creates the listener which calls the method on the given object
+     */
+    public <L extends Listener> MethodBinding(final Class<L> listenerType, final int priority, final Function<T, L> factory) {
+        this.listenerType = listenerType;
+        this.priority = priority;
+        this.factory = factory;
+    }
+
+    public Class<? extends Listener> getListenerType() {
+        return listenerType;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @param target The object to call the method on
+     * @return A new listener which calls the method on the given object
+     */
+    public Listener bind(final T target) {
+        return factory.apply(target);
+    }
+
+}
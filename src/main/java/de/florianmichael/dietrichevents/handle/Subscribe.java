@@ -0,0 +1,50 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents.handle;
+
+import de.florianmichael.dietrichevents.enums.Priorities;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a method as handler of the given listener type, see {@link de.florianmichael.dietrichevents.DietrichEvents#subscribeMethods(Object)}.
+ * The method has to be non-static and take the same parameters as the single abstract method of the listener type, for example: <br>
+ * <pre>
+ * &#64;Subscribe(PacketListener.class)
+ * public void onPacket(final Packet packet) { ... }
+ * </pre>
+ * Instead of being called reflectively, the method is bound to a direct implementation of the listener type, so it is dispatched
+ * exactly like a subscribed {@link de.florianmichael.dietrichevents.handle.Listener}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Subscribe {
+
+    /**
+     * @return The listener type the method is implementing
+     */
+    Class<? extends Listener> value();
+
+    /**
+     * @return The priority of the subscription, see {@link de.florianmichael.dietrichevents.enums.Priorities}
+     */
+    int priority() default Priorities.NONE;
+
+}
@@ -17,6 +17,7 @@
 
 package de.florianmichael.dietrichevents.handle;
 
+import java.lang.ref.Reference;
 import java.util.function.IntSupplier;
 
 /**
@@ -27,28 +28,247 @@ import java.util.function.IntSupplier;
  */
 public class Subscription<L> {
 
-    private final L listenerType;
-    private final IntSupplier prioritySupplier;
+    /**
+     * The routing key of subscriptions which receive all events, see {@link de.florianmichael.dietrichevents.handle.Subscription#setRoutingKey(int)}.
+     */
+    public static final int NO_ROUTING_KEY = -1;
 
-    public Subscription(L listenerType, IntSupplier prioritySupplier) {
-        this.listenerType = listenerType;
+    private static final int WEAK = 1;
+    private static final int DYNAMIC_PRIORITY = 1 << 1;
+    private static final int IGNORE_CANCELLED = 1 << 2;
+    private static final int ASYNC = 1 << 3;
+    private static final int INDEPENDENT = 1 << 4;
+
+    /**
+     * The listener, or its {@link java.lang.ref.Reference} if the subscription is weak. Together with the flags this keeps a subscription
+     * at 32 bytes with compressed references, since hundreds of thousands of them can be subscribed at the same time.
+     */
+    private final Object listener;
+
+    /**
+     * The supplier of a dynamic priority, or the supplier of a static priority once it has been requested by {@link de.florianmichael.dietrichevents.handle.Subscription#getPrioritySupplier()}.
+     */
+    private IntSupplier prioritySupplier;
+    private int priority;
+    private int routingKey = NO_ROUTING_KEY;
+    private int flags;
+
+    private Subscription(Object listener, IntSupplier prioritySupplier, int priority, int flags) {
+        this.listener = listener;
         this.prioritySupplier = prioritySupplier;
+        this.priority = prioritySupplier == null ? priority : prioritySupplier.getAsInt();
+        this.flags = prioritySupplier == null ? flags : flags | DYNAMIC_PRIORITY;
     }
 
+    public Subscription(L listenerType, IntSupplier prioritySupplier) {
+        this(listenerType, prioritySupplier, 0, 0);
+    }
+
+    /**
+     * Creates a subscription with a static priority, which is only stored as a plain int and never evaluated again.
+     *
+     * @param listenerType The listener
+     * @param priority The priority
+     */
     public Subscription(L listenerType, int priority) {
-        this(listenerType, () -> priority);
+        this(listenerType, null, priority, 0);
     }
 
     public Subscription(L listenerType) {
         this(listenerType, 0);
     }
 
+    /**
+     * Creates a subscription which only references the listener through the given reference, so it doesn't keep the listener reachable.
+     *
+     * @param reference The reference to the listener
+     * @param priority The priority
+     * @return The subscription
+     */
+    public static <L> Subscription<L> weak(Reference<L> reference, int priority) {
+        return new Subscription<>(reference, null, priority, WEAK);
+    }
+
+    /**
+     * @return The listener, or null if the subscription is weak and the listener has been garbage collected
+     */
+    @SuppressWarnings("unchecked")
     public L getListenerType() {
-        return listenerType;
+        return (flags & WEAK) == 0 ? (L) listener : ((Reference<L>) listener).get();
+    }
+
+    /**
+     * @return The reference to the listener, or null if the subscription is not weak
+     */
+    @SuppressWarnings("unchecked")
+    public Reference<L> getReference() {
+        return (flags & WEAK) == 0 ? null : (Reference<L>) listener;
     }
 
+    /**
+     * @return true if the subscription doesn't keep the listener reachable
+     */
+    public boolean isWeak() {
+        return (flags & WEAK) != 0;
+    }
+
+    /**
+     * Comparators should use {@link de.florianmichael.dietrichevents.handle.Subscription#getPriority()} instead, which doesn't need to call a supplier.
+     *
+     * @return The {@link java.util.function.IntSupplier} of a dynamic priority, or a supplier returning the static priority which is created once
+     */
     public IntSupplier getPrioritySupplier() {
+        if (prioritySupplier == null) {
+            final int priority = this.priority;
+            prioritySupplier = () -> priority;
+        }
         return prioritySupplier;
     }
 
+    /**
+     * @return true if the priority was given as an {@link java.util.function.IntSupplier} and can change over time
+     */
+    public boolean isDynamicPriority() {
+        return (flags & DYNAMIC_PRIORITY) != 0;
+    }
+
+    /**
+     * @return true if the listener should not be called for cancelled events
+     */
+    public boolean isIgnoreCancelled() {
+        return (flags & IGNORE_CANCELLED) != 0;
+    }
+
+    /**
+     * If set, the listener is skipped as soon as a {@link de.florianmichael.dietrichevents.types.CancellableEvent} has been cancelled
+     * by an earlier listener. This is only honored by the postBreakable methods and has to be set before subscribing.
+     *
+     * @param ignoreCancelled Whether cancelled events should be skipped
+     * @return This subscription
+     */
+    public Subscription<L> setIgnoreCancelled(boolean ignoreCancelled) {
+        this.flags = ignoreCancelled ? flags | IGNORE_CANCELLED : flags & ~IGNORE_CANCELLED;
+        return this;
+    }
+
+    /**
+     * @return The routing key of the subscription, or {@link de.florianmichael.dietrichevents.handle.Subscription#NO_ROUTING_KEY} if it receives all events
+     */
+    public int getRoutingKey() {
+        return routingKey;
+    }
+
+    /**
+     * If set, the listener is only called for events with the same {@link de.florianmichael.dietrichevents.AbstractEvent#getRoutingKey()}.
+     * The event system keeps a separate dispatch table per routing key, so events are only dispatched to the listeners of their key
+     * and the listeners without a routing key. This has to be set before subscribing.
+     *
+     * @param routingKey The routing key, must not be negative
+     * @return This subscription
+     */
+    public Subscription<L> setRoutingKey(int routingKey) {
+        if (routingKey < 0) throw new IllegalArgumentException("routingKey must not be negative");
+
+        this.routingKey = routingKey;
+        return this;
+    }
+
+    /**
+     * Sets the ordinal of the given constant as routing key, see {@link de.florianmichael.dietrichevents.handle.Subscription#setRoutingKey(int)}.
+     *
+     * @param routingKey The routing key, e.g. an {@link de.florianmichael.dietrichevents.enums.EventStateType}
+     * @return This subscription
+     */
+    public Subscription<L> setRoutingKey(Enum<?> routingKey) {
+        return setRoutingKey(routingKey.ordinal());
+    }
+
+    /**
+     * @return true if the subscription only receives events with its routing key
+     */
+    public boolean isKeyed() {
+        return routingKey != NO_ROUTING_KEY;
+    }
+
+    /**
+     * @param routingKey The routing key of an event
+     * @return true if the listener has to be called for an event with the given routing key
+     */
+    public boolean accepts(int routingKey) {
+        return this.routingKey == NO_ROUTING_KEY || this.routingKey == routingKey;
+    }
+
+    /**
+     * @return true if the listener can be called in parallel to its neighbours by the postParallel methods
+     */
+    public boolean isIndependent() {
+        return (flags & INDEPENDENT) != 0;
+    }
+
+    /**
+     * If set, the postParallel methods call this listener in parallel together with all directly neighbouring independent listeners
+     * of the sorted subscriptions, the other listeners are still called one after another. This has to be set before subscribing.
+     *
+     * @param independent Whether the listener doesn't depend on other listeners and can be called from any thread
+     * @return This subscription
+     */
+    public Subscription<L> setIndependent(boolean independent) {
+        this.flags = independent ? flags | INDEPENDENT : flags & ~INDEPENDENT;
+        return this;
+    }
+
+    /**
+     * @return true if the listener is called on the asynchronous executor of the event system
+     */
+    public boolean isAsync() {
+        return (flags & ASYNC) != 0;
+    }
+
+    /**
+     * If set, the listener is not called on the posting thread, but on the asynchronous executor of the event system after all
+     * synchronous listeners have been called. Asynchronous listeners of a listener type are always called in the order the events were posted.
+     * This has to be set before subscribing, changes of subscribed listeners only take effect once their listener type is republished.
+     * Asynchronous listeners don't receive events of an {@link de.florianmichael.dietrichevents.EventPool} or {@link de.florianmichael.dietrichevents.EventPipeline},
+     * since those are reset while the listener could still be running.
+     *
+     * @param async Whether the listener should be called asynchronously
+     * @return This subscription
+     */
+    public Subscription<L> setAsync(boolean async) {
+        this.flags = async ? flags | ASYNC : flags & ~ASYNC;
+        return this;
+    }
+
+    /**
+     * Creates a new subscription to the same listener with the same priority and options, so a subscription which is shared
+     * between multiple listener types can be replaced in a single listener type without changing the others.
+     *
+     * @return The copy
+     */
+    public Subscription<L> copy() {
+        final Subscription<L> copy = new Subscription<>(listener, null, priority, flags);
+        copy.prioritySupplier = prioritySupplier;
+        copy.routingKey = routingKey;
+        return copy;
+    }
+
+    /**
+     * @return The priority of the last {@link de.florianmichael.dietrichevents.handle.Subscription#updatePriority()} call
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Evaluates the {@link java.util.function.IntSupplier} of a dynamic priority and caches the result, static priorities are never evaluated again.
+     *
+     * @return The current priority
+     */
+    public int updatePriority() {
+        if ((flags & DYNAMIC_PRIORITY) != 0) {
+            priority = prioritySupplier.getAsInt();
+        }
+        return priority;
+    }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.metrics;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents the default {@link de.florianmichael.dietrichevents.metrics.MetricsSink}, which aggregates post counts,
+ * latency histograms, fan-out and abort rates per listener type and the cumulative time and call count per listener.
+ * <pre>{@code
+ * final DispatchMetrics metrics = new DispatchMetrics();
+ * DietrichEvents.global().setMetricsSink(metrics);
+ * ...
+ * final ListenerTypeMetrics exampleMetrics = metrics.getListenerTypeMetrics(ExampleListener.class);
+ * }</pre>
+ * Note: Listeners are kept reachable by their metrics until {@link de.florianmichael.dietrichevents.metrics.DispatchMetrics#reset()} is called.
+ */
+public final class DispatchMetrics implements MetricsSink {
+
+    private final Map<Class<? extends Listener>, ListenerTypeMetrics> listenerTypes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPost(final Class<? extends Listener> listenerType, final long nanos, final int fanOut, final boolean aborted) {
+        this.metrics(listenerType).recordPost(nanos, fanOut, aborted);
+    }
+
+    @Override
+    public void onListener(final Class<? extends Listener> listenerType, final Listener listener, final long nanos) {
+        this.metrics(listenerType).recordListener(listener, nanos);
+    }
+
+    private ListenerTypeMetrics metrics(final Class<? extends Listener> listenerType) {
+        final ListenerTypeMetrics metrics = this.listenerTypes.get(listenerType);
+        if (metrics != null) return metrics;
+
+        return this.listenerTypes.computeIfAbsent(listenerType, ListenerTypeMetrics::new);
+    }
+
+    /**
+     * @param listenerType The listener type
+     * @return The metrics of the given listener type, or null if no event of the listener type has been posted yet
+     */
+    public ListenerTypeMetrics getListenerTypeMetrics(final Class<? extends Listener> listenerType) {
+        return this.listenerTypes.get(listenerType);
+    }
+
+    /**
+     * @return A copy of the metrics of every listener type an event has been posted for
+     */
+    public Map<Class<? extends Listener>, ListenerTypeMetrics> getListenerTypeMetrics() {
+        return Collections.unmodifiableMap(new HashMap<>(this.listenerTypes));
+    }
+
+    /**
+     * Removes all recorded metrics.
+     */
+    public void reset() {
+        this.listenerTypes.clear();
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class represents a lock-free latency histogram with power of two buckets, the bucket of a value is found with a single
+ * leading zero count, so recording doesn't allocate and has a relative error of at most a factor of two.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * @param nanos The latency to record in nanoseconds
+     */
+    public void record(final long nanos) {
+        this.buckets.incrementAndGet(bucket(nanos));
+    }
+
+    /**
+     * @return The amount of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += this.buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @param bucket The bucket index, from 0 to 63
+     * @return The amount of recorded values in the given bucket, bucket n contains all values below 2^n which are not in a lower bucket
+     */
+    public long getBucketCount(final int bucket) {
+        return this.buckets.get(bucket);
+    }
+
+    /**
+     * @param percentile The percentile, from 0 to 100
+     * @return The upper bound of the bucket which contains the given percentile in nanoseconds, or 0 if nothing has been recorded
+     */
+    public long getPercentile(final double percentile) {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return upperBound(i);
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+    }
+
+    private static int bucket(final long nanos) {
+        return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(nanos));
+    }
+
+    private static long upperBound(final int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents the cumulative call count and time of a single listener, see {@link de.florianmichael.dietrichevents.metrics.DispatchMetrics}.
+ */
+public final class ListenerMetrics {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    void record(final long nanos) {
+        this.calls.increment();
+        this.nanos.add(nanos);
+    }
+
+    /**
+     * @return How often the listener has been called
+     */
+    public long getCallCount() {
+        return this.calls.sum();
+    }
+
+    /**
+     * @return The cumulative time of all calls in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.nanos.sum();
+    }
+
+    /**
+     * @return The average time of a call in nanoseconds, or 0 if the listener hasn't been called
+     */
+    public double getAverageNanos() {
+        final long calls = this.calls.sum();
+        return calls == 0 ? 0 : (double) this.nanos.sum() / calls;
+    }
+
+}
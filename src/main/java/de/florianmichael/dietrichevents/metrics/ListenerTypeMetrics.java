@@ -0,0 +1,137 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.metrics;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents the metrics of a single listener type, see {@link de.florianmichael.dietrichevents.metrics.DispatchMetrics}.
+ */
+public final class ListenerTypeMetrics {
+
+    private final Class<? extends Listener> listenerType;
+
+    private final LongAdder posts = new LongAdder();
+    private final LongAdder aborts = new LongAdder();
+    private final LongAdder listenerCalls = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * The metrics of every listener, listener objects are compared by identity, so listeners with a custom equals method are still counted separately.
+     */
+    private final Map<IdentityKey, ListenerMetrics> listeners = new ConcurrentHashMap<>();
+
+    ListenerTypeMetrics(final Class<? extends Listener> listenerType) {
+        this.listenerType = listenerType;
+    }
+
+    void recordPost(final long nanos, final int fanOut, final boolean aborted) {
+        this.posts.increment();
+        this.listenerCalls.add(fanOut);
+        if (aborted) {
+            this.aborts.increment();
+        }
+        this.latency.record(nanos);
+    }
+
+    void recordListener(final Listener listener, final long nanos) {
+        this.listeners.computeIfAbsent(new IdentityKey(listener), key -> new ListenerMetrics()).record(nanos);
+    }
+
+    /**
+     * @return The listener type
+     */
+    public Class<? extends Listener> getListenerType() {
+        return this.listenerType;
+    }
+
+    /**
+     * @return How often an event of this listener type has been posted
+     */
+    public long getPostCount() {
+        return this.posts.sum();
+    }
+
+    /**
+     * @return How many of the posted events have been aborted by a listener
+     */
+    public long getAbortCount() {
+        return this.aborts.sum();
+    }
+
+    /**
+     * @return The ratio of aborted events, or 0 if nothing has been posted
+     */
+    public double getAbortRate() {
+        final long posts = this.posts.sum();
+        return posts == 0 ? 0 : (double) this.aborts.sum() / posts;
+    }
+
+    /**
+     * @return The average amount of listeners called per post, or 0 if nothing has been posted
+     */
+    public double getAverageFanOut() {
+        final long posts = this.posts.sum();
+        return posts == 0 ? 0 : (double) this.listenerCalls.sum() / posts;
+    }
+
+    /**
+     * @return The histogram of the time all listeners took per post
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return A copy of the metrics of every listener that has been called so far, compared by identity
+     */
+    public Map<Listener, ListenerMetrics> getListenerMetrics() {
+        final Map<Listener, ListenerMetrics> listenerMetrics = new IdentityHashMap<>();
+        for (Map.Entry<IdentityKey, ListenerMetrics> entry : this.listeners.entrySet()) {
+            listenerMetrics.put(entry.getKey().listener, entry.getValue());
+        }
+        return Collections.unmodifiableMap(listenerMetrics);
+    }
+
+    private static final class IdentityKey {
+
+        private final Listener listener;
+
+        private IdentityKey(final Listener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).listener == this.listener;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.listener);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.metrics;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+
+/**
+ * This interface receives the measurements of the instrumented dispatch path, which is only used while a sink is set with
+ * {@link de.florianmichael.dietrichevents.DietrichEvents#setMetricsSink(MetricsSink)}. The methods are called on the posting thread,
+ * so implementations have to be thread safe if events are posted from multiple threads and should be as cheap as possible.
+ * See {@link de.florianmichael.dietrichevents.metrics.DispatchMetrics} for the default implementation.
+ */
+public interface MetricsSink {
+
+    /**
+     * Called once after all synchronous listeners have been called.
+     *
+     * @param listenerType The listener type of the event
+     * @param nanos The time all listeners took in nanoseconds
+     * @param fanOut The amount of listeners which have been called
+     * @param aborted Whether the event has been aborted after all listeners have been called
+     */
+    void onPost(final Class<? extends Listener> listenerType, final long nanos, final int fanOut, final boolean aborted);
+
+    /**
+     * Called after every single listener.
+     *
+     * @param listenerType The listener type of the event
+     * @param listener The listener which has been called
+     * @param nanos The time the listener took in nanoseconds
+     */
+    void onListener(final Class<? extends Listener> listenerType, final Listener listener, final long nanos);
+
+}
@@ -45,4 +45,10 @@ public abstract class BreakableEvent<L extends Listener> extends AbstractEvent<L
         this.abort = abort;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.abort = false;
+    }
+
 }
@@ -43,4 +43,10 @@ public abstract class CancellableEvent<L extends Listener> extends AbstractEvent
         this.cancelled = cancelled;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.cancelled = false;
+    }
+
 }
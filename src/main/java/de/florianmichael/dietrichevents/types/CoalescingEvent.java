@@ -0,0 +1,46 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.types;
+
+import de.florianmichael.dietrichevents.AbstractEvent;
+import de.florianmichael.dietrichevents.handle.Listener;
+
+/**
+ * This class represents an event which can be coalesced, see {@link de.florianmichael.dietrichevents.DietrichEvents#postCoalescing(CoalescingEvent)}.
+ * Buffered events of the same listener type with an equal coalescing key are merged, so only one of them is dispatched by the next flush.
+ *
+ * @param <L> The listener type
+ */
+public abstract class CoalescingEvent<L extends Listener> extends AbstractEvent<L> {
+
+    /**
+     * @return The coalescing key, events with an equal key are merged, e.g. the id of the entity that has moved
+     */
+    public abstract Object getCoalescingKey();
+
+    /**
+     * Merges this event with an event of the same key that has been buffered earlier, by default the later event replaces the earlier one.
+     *
+     * @param previous The earlier event
+     * @return The event which is buffered instead of both events
+     */
+    public CoalescingEvent<L> merge(final CoalescingEvent<L> previous) {
+        return this;
+    }
+
+}
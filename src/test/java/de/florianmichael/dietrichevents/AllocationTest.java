@@ -0,0 +1,75 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the dispatch hot paths don't allocate, the event is reused so every allocated byte would come from the event system itself.
+ * The allocated bytes of the test thread are read from the {@link com.sun.management.ThreadMXBean} after the paths have been warmed up.
+ */
+class AllocationTest {
+
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 10_000;
+
+    @Test
+    void dispatchPathsDontAllocate() {
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "Allocated memory per thread is not supported by this JVM");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            for (int i = 0; i < 10; i++) {
+                eventSystem.subscribe(TestListener.class, event -> event.count++, i % 3);
+            }
+            final TestListener listener = event -> event.count++;
+            eventSystem.subscribe(TestListener.class, listener);
+            final EventChannel<TestListener> channel = eventSystem.channel(TestListener.class);
+            final TestListener.TestEvent event = new TestListener.TestEvent();
+
+            assertNoAllocations(threadBean, "postInternal", () -> eventSystem.postInternal(event));
+            assertNoAllocations(threadBean, "post", () -> eventSystem.post(event));
+            assertNoAllocations(threadBean, "postPush", () -> eventSystem.postPush(event));
+            assertNoAllocations(threadBean, "postBreakable", () -> eventSystem.postBreakable(event));
+            assertNoAllocations(threadBean, "channel.postInternal", () -> channel.postInternal(event));
+            assertNoAllocations(threadBean, "hasListeners", () -> eventSystem.hasListeners(TestListener.class, listener));
+        }
+    }
+
+    private static void assertNoAllocations(final com.sun.management.ThreadMXBean threadBean, final String name, final Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            call.run();
+        }
+        final long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        // Less than a byte per call, reading the counter itself may allocate a few bytes
+        assertTrue(allocated < MEASURED_CALLS, name + " allocated " + allocated + " bytes in " + MEASURED_CALLS + " calls");
+    }
+
+}
@@ -0,0 +1,994 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.BackpressurePolicy;
+import de.florianmichael.dietrichevents.enums.DispatchOrder;
+import de.florianmichael.dietrichevents.enums.EventStateType;
+import de.florianmichael.dietrichevents.enums.Priorities;
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.Subscription;
+import de.florianmichael.dietrichevents.metrics.DispatchMetrics;
+import de.florianmichael.dietrichevents.types.BreakableEvent;
+import de.florianmichael.dietrichevents.types.CancellableEvent;
+import de.florianmichael.dietrichevents.types.CoalescingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static de.florianmichael.dietrichevents.TestListener.recording;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DietrichEventsTest {
+
+    @Test
+    void listenersAreCalledByPriority() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribe(TestListener.class, recording("none"));
+            eventSystem.subscribe(TestListener.class, recording("first"), Priorities.FIRST);
+            eventSystem.subscribe(TestListener.class, recording("high"), Priorities.HIGH);
+            eventSystem.subscribe(TestListener.class, recording("monitor"), Priorities.MONITOR);
+            eventSystem.subscribe(TestListener.class, recording("low"), Priorities.LOW);
+            eventSystem.subscribe(TestListener.class, recording("none2"));
+
+            assertEquals(Arrays.asList("monitor", "high", "none", "none2", "low", "first"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void dynamicPrioritiesAreSorted() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribe(TestListener.class, recording("dynamic"), () -> Priorities.HIGHEST);
+            eventSystem.subscribe(TestListener.class, recording("static"), Priorities.HIGH);
+
+            assertEquals(Arrays.asList("dynamic", "static"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void postPushOnlySortsIfADynamicPriorityHasChanged() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final int[] priority = {Priorities.HIGH};
+            final int[] evaluations = new int[1];
+            final int[] sorts = new int[1];
+            eventSystem.setSortCallback((subscriptions, priorityOrder) -> {
+                sorts[0]++;
+                subscriptions.sort(priorityOrder);
+            });
+            eventSystem.subscribe(TestListener.class, recording("dynamic"), () -> {
+                evaluations[0]++;
+                return priority[0];
+            });
+            eventSystem.subscribe(TestListener.class, recording("static"));
+            evaluations[0] = 0;
+            sorts[0] = 0;
+
+            assertEquals(Arrays.asList("dynamic", "static"), eventSystem.postPush(new TestListener.TestEvent()).calls);
+            assertEquals(Arrays.asList("dynamic", "static"), eventSystem.postPush(new TestListener.TestEvent()).calls);
+            assertEquals(2, evaluations[0]);
+            assertEquals(0, sorts[0]);
+
+            priority[0] = Priorities.LOW;
+            assertEquals(Arrays.asList("dynamic", "static"), eventSystem.post(new TestListener.TestEvent()).calls);
+            assertEquals(Arrays.asList("static", "dynamic"), eventSystem.postPush(new TestListener.TestEvent()).calls);
+            assertEquals(1, sorts[0]);
+        }
+    }
+
+    @Test
+    void priorityUpdateIntervalLimitsEvaluations() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final int[] priority = {Priorities.HIGH};
+            eventSystem.setPriorityUpdateInterval(1, TimeUnit.HOURS);
+            eventSystem.subscribe(TestListener.class, recording("dynamic"), () -> priority[0]);
+            eventSystem.subscribe(TestListener.class, recording("static"));
+
+            eventSystem.postPush(new TestListener.TestEvent());
+            priority[0] = Priorities.LOW;
+            assertEquals(Arrays.asList("dynamic", "static"), eventSystem.postPush(new TestListener.TestEvent()).calls);
+
+            eventSystem.setPriorityUpdateInterval(0, TimeUnit.NANOSECONDS);
+            assertEquals(Arrays.asList("static", "dynamic"), eventSystem.postPush(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void subscribeAllSortsOnce() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<TestListener> listeners = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                listeners.add(recording(String.valueOf(i)));
+            }
+            eventSystem.subscribeAll(TestListener.class, listeners);
+
+            assertEquals(Arrays.asList("0", "1", "2", "3", "4"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void errorsAreHandled() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Throwable> errors = new ArrayList<>();
+            eventSystem.setErrorHandler(errors::add);
+            eventSystem.subscribe(TestListener.class, event -> {
+                throw new IllegalStateException("listener");
+            });
+
+            eventSystem.post(new TestListener.TestEvent());
+            assertEquals(1, errors.size());
+            assertThrows(IllegalStateException.class, () -> eventSystem.postInternal(new TestListener.TestEvent()));
+        }
+    }
+
+    @Test
+    void unsubscribeRemovesOnlyTheGivenListener() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final TestListener first = eventSystem.subscribe(TestListener.class, recording("first"));
+            eventSystem.subscribe(TestListener.class, recording("second"));
+            eventSystem.unsubscribe(TestListener.class, first);
+
+            assertEquals(Collections.singletonList("second"), eventSystem.post(new TestListener.TestEvent()).calls);
+            assertFalse(eventSystem.hasListeners(TestListener.class, first));
+
+            eventSystem.unsubscribeListenerType(TestListener.class);
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+        }
+    }
+
+    @Test
+    void subscribeClassSubscribesAllListenerTypes() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Both both = new Both();
+            eventSystem.subscribeClass(both);
+            eventSystem.post(new TestListener.TestEvent());
+            eventSystem.post(new OtherListener.OtherEvent());
+            assertEquals(Arrays.asList("test", "other"), both.calls);
+
+            eventSystem.unsubscribeClass(both);
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+            assertFalse(eventSystem.hasSubscribers(OtherListener.class));
+        }
+    }
+
+    @Test
+    void unsubscribeClassOnlyRemovesTheGivenListener() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Both both = new Both();
+            eventSystem.subscribeClass(both);
+            eventSystem.subscribe(TestListener.class, recording("other"));
+            eventSystem.unsubscribeClass(new Both());
+            eventSystem.unsubscribeClass(both);
+
+            assertEquals(Collections.singletonList("other"), eventSystem.post(new TestListener.TestEvent()).calls);
+            assertTrue(both.calls.isEmpty());
+
+            eventSystem.subscribeClass(both);
+            eventSystem.post(new OtherListener.OtherEvent());
+            assertEquals(Collections.singletonList("other"), both.calls);
+        }
+    }
+
+    @Test
+    void postBreakableStopsOnceTheEventIsAborted() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribe(BreakListener.class, event -> {
+                event.calls.add("first");
+                event.stopHandling();
+            }, Priorities.HIGH);
+            eventSystem.subscribe(BreakListener.class, event -> event.calls.add("second"));
+
+            assertEquals(Arrays.asList("first", "second"), eventSystem.post(new BreakListener.BreakEvent()).calls);
+            assertEquals(Collections.singletonList("first"), eventSystem.postBreakable(new BreakListener.BreakEvent()).calls);
+            assertEquals(Collections.singletonList("first"), eventSystem.channel(BreakListener.class).postBreakable(new BreakListener.BreakEvent()).calls);
+        }
+    }
+
+    @Test
+    void postBreakableSkipsListenersIgnoringCancelledEvents() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribe(CancelListener.class, event -> {
+                event.calls.add("cancel");
+                event.cancel();
+            }, Priorities.HIGH);
+            eventSystem.subscribeInternal(CancelListener.class, new Subscription<CancelListener>(event -> event.calls.add("ignoring")).setIgnoreCancelled(true));
+            eventSystem.subscribe(CancelListener.class, event -> event.calls.add("monitor"), Priorities.LOW);
+
+            final CancelListener.CancelEvent event = eventSystem.postBreakable(new CancelListener.CancelEvent());
+            assertEquals(Arrays.asList("cancel", "monitor"), event.calls);
+            assertTrue(event.isCancelled());
+        }
+    }
+
+    @Test
+    void postAsyncCompletesTheFuture() throws Exception {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribe(TestListener.class, event -> event.count++);
+
+            final CompletableFuture<TestListener.TestEvent> future = eventSystem.postAsync(new TestListener.TestEvent());
+            assertEquals(1, future.get(10, TimeUnit.SECONDS).count);
+        }
+    }
+
+    @Test
+    void asyncListenersAreCalledAfterTheSynchronousOnes() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Runnable> tasks = new ArrayList<>();
+            eventSystem.setAsyncExecutor(tasks::add);
+            eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(recording("async"), Priorities.HIGHEST).setAsync(true));
+            eventSystem.subscribe(TestListener.class, recording("sync"));
+
+            final TestListener.TestEvent event = eventSystem.post(new TestListener.TestEvent());
+            assertEquals(Collections.singletonList("sync"), event.calls);
+
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+            assertEquals(Arrays.asList("sync", "async"), event.calls);
+        }
+    }
+
+    @Test
+    void asyncEventsOfOneListenerTypeKeepTheirOrder() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+                final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+                final List<Integer> expected = new ArrayList<>();
+                eventSystem.setAsyncExecutor(executor);
+                eventSystem.subscribe(TestListener.class, event -> values.add(event.count));
+
+                CompletableFuture<TestListener.TestEvent> last = null;
+                for (int i = 0; i < 100; i++) {
+                    final TestListener.TestEvent event = new TestListener.TestEvent();
+                    event.count = i;
+                    expected.add(i);
+                    last = eventSystem.postAsync(event);
+                }
+                last.get(10, TimeUnit.SECONDS);
+                assertEquals(expected, values);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void postAllDispatchesInTheGivenOrder() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<String> calls = new ArrayList<>();
+            eventSystem.subscribe(TestListener.class, event -> calls.add("a" + event.count), Priorities.HIGH);
+            eventSystem.subscribe(TestListener.class, event -> calls.add("b" + event.count));
+            final TestListener.TestEvent[] events = new TestListener.TestEvent[2];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = new TestListener.TestEvent();
+                events[i].count = i;
+            }
+
+            eventSystem.postAll(events);
+            assertEquals(Arrays.asList("a0", "b0", "a1", "b1"), calls);
+
+            calls.clear();
+            eventSystem.postAll(Arrays.asList(events), DispatchOrder.LISTENER_MAJOR);
+            assertEquals(Arrays.asList("a0", "a1", "b0", "b1"), calls);
+        }
+    }
+
+    @Test
+    void postAllSkipsAbortedEventsInBothOrders() {
+        for (DispatchOrder order : DispatchOrder.values()) {
+            for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+                eventSystem.subscribe(BreakListener.class, event -> {
+                    event.calls.add("first");
+                    if (event.abort) event.stopHandling();
+                }, Priorities.HIGH);
+                eventSystem.subscribe(BreakListener.class, event -> event.calls.add("second"));
+                final BreakListener.BreakEvent aborted = new BreakListener.BreakEvent();
+                aborted.abort = true;
+                final BreakListener.BreakEvent normal = new BreakListener.BreakEvent();
+
+                eventSystem.postAll(Arrays.asList(aborted, normal), order);
+                assertEquals(Collections.singletonList("first"), aborted.calls);
+                assertEquals(Arrays.asList("first", "second"), normal.calls);
+            }
+        }
+    }
+
+    @Test
+    void postAllStopsTheBatchOnAnError() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Throwable> errors = new ArrayList<>();
+            eventSystem.setErrorHandler(errors::add);
+            eventSystem.subscribe(TestListener.class, event -> {
+                if (event.count == 0) throw new IllegalStateException("listener");
+                event.calls.add("called");
+            });
+            final TestListener.TestEvent failing = new TestListener.TestEvent();
+            final TestListener.TestEvent skipped = new TestListener.TestEvent();
+            skipped.count = 1;
+
+            eventSystem.postAll(Arrays.asList(failing, skipped));
+            assertEquals(1, errors.size());
+            assertTrue(skipped.calls.isEmpty());
+        }
+    }
+
+    @Test
+    void eventPoolReusesResetEvents() {
+        final EventPool<TestListener.TestEvent> pool = new EventPool<>(TestListener.TestEvent::new, 1);
+        final TestListener.TestEvent event = pool.acquire();
+        event.calls.add("used");
+        event.count = 1;
+
+        pool.release(event);
+        assertTrue(event.calls.isEmpty());
+        assertEquals(0, event.count);
+
+        final TestListener.TestEvent reused = pool.acquire();
+        assertSame(event, reused);
+        assertNotSame(reused, pool.acquire());
+    }
+
+    @Test
+    void eventPoolKeepsAtMostMaxSizeEvents() {
+        final EventPool<TestListener.TestEvent> pool = new EventPool<>(TestListener.TestEvent::new, 1);
+        final TestListener.TestEvent first = pool.acquire();
+        final TestListener.TestEvent second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+        assertSame(first, pool.acquire());
+        assertNotSame(second, pool.acquire());
+    }
+
+    @Test
+    void eventPoolsAreKeptPerThread() throws InterruptedException {
+        final EventPool<TestListener.TestEvent> pool = new EventPool<>(TestListener.TestEvent::new);
+        final TestListener.TestEvent event = pool.acquire();
+        pool.release(event);
+
+        final List<TestListener.TestEvent> acquired = new ArrayList<>();
+        final Thread thread = new Thread(() -> acquired.add(pool.acquire()));
+        thread.start();
+        thread.join();
+        assertNotSame(event, acquired.get(0));
+        assertSame(event, pool.acquire());
+    }
+
+    @Test
+    void pooledEventsArentHandedToAsyncListeners() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Runnable> tasks = new ArrayList<>();
+            eventSystem.setAsyncExecutor(tasks::add);
+            final List<Throwable> errors = new ArrayList<>();
+            eventSystem.setErrorHandler(errors::add);
+            eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(recording("async"), Priorities.NONE).setAsync(true));
+            eventSystem.subscribe(TestListener.class, recording("sync"));
+            final EventPool<TestListener.TestEvent> pool = new EventPool<>(TestListener.TestEvent::new);
+
+            final TestListener.TestEvent event = pool.acquire();
+            assertEquals(Collections.singletonList("sync"), eventSystem.post(event).calls);
+            assertTrue(tasks.isEmpty());
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof IllegalStateException);
+
+            assertTrue(eventSystem.postAsync(event).isCompletedExceptionally());
+            assertTrue(tasks.isEmpty());
+
+            // Released events stay reusable, even if they haven't been acquired from the pool
+            final TestListener.TestEvent released = new TestListener.TestEvent();
+            pool.release(released);
+            eventSystem.post(pool.acquire());
+            assertTrue(tasks.isEmpty());
+            assertEquals(2, errors.size());
+
+            eventSystem.post(new TestListener.TestEvent());
+            assertEquals(1, tasks.size());
+        }
+    }
+
+    @Test
+    void releasingAnEventTwiceThrows() {
+        final EventPool<TestListener.TestEvent> pool = new EventPool<>(TestListener.TestEvent::new);
+        final TestListener.TestEvent event = pool.acquire();
+        pool.release(event);
+        event.count = 1;
+
+        assertThrows(IllegalStateException.class, () -> pool.release(event));
+        assertEquals(1, event.count);
+        assertSame(event, pool.acquire());
+        assertNotSame(event, pool.acquire());
+    }
+
+    @Test
+    void resetClearsTheAbortAndCancelledFlags() {
+        final BreakListener.BreakEvent breakEvent = new BreakListener.BreakEvent();
+        breakEvent.stopHandling();
+        breakEvent.reset();
+        assertFalse(breakEvent.isAbort());
+
+        final CancelListener.CancelEvent cancelEvent = new CancelListener.CancelEvent();
+        cancelEvent.cancel();
+        cancelEvent.reset();
+        assertFalse(cancelEvent.isCancelled());
+    }
+
+    @Test
+    void routingKeysOnlyReachMatchingListeners() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<String> calls = new ArrayList<>();
+            eventSystem.subscribe(PhaseListener.class, stateType -> calls.add("pre"), EventStateType.PRE);
+            eventSystem.subscribe(PhaseListener.class, stateType -> calls.add("post"), EventStateType.POST);
+            eventSystem.subscribe(PhaseListener.class, stateType -> calls.add("all"), Priorities.LOW);
+
+            eventSystem.post(new PhaseListener.PhaseEvent(EventStateType.PRE));
+            assertEquals(Arrays.asList("pre", "all"), calls);
+
+            calls.clear();
+            eventSystem.post(new PhaseListener.PhaseEvent(EventStateType.INTRA));
+            assertEquals(Collections.singletonList("all"), calls);
+
+            calls.clear();
+            eventSystem.postAll(Collections.singletonList(new PhaseListener.PhaseEvent(EventStateType.POST)));
+            assertEquals(Arrays.asList("post", "all"), calls);
+        }
+    }
+
+    @Test
+    void routingKeysAreRespectedByTheInstrumentedPath() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<String> calls = new ArrayList<>();
+            eventSystem.setMetricsSink(new DispatchMetrics());
+            eventSystem.subscribe(PhaseListener.class, stateType -> calls.add("pre"), EventStateType.PRE);
+            eventSystem.subscribe(PhaseListener.class, stateType -> calls.add("all"), Priorities.LOW);
+
+            eventSystem.post(new PhaseListener.PhaseEvent(EventStateType.POST));
+            assertEquals(Collections.singletonList("all"), calls);
+        }
+    }
+
+    @Test
+    void coalescingEventsAreMergedUntilFlush() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Integer> values = new ArrayList<>();
+            eventSystem.subscribe(ValueListener.class, values::add);
+
+            eventSystem.postCoalescing(new ValueListener.ValueEvent("a", 1));
+            eventSystem.postCoalescing(new ValueListener.ValueEvent("b", 2));
+            eventSystem.postCoalescing(new ValueListener.ValueEvent("a", 3));
+            assertTrue(values.isEmpty());
+
+            assertEquals(2, eventSystem.flush());
+            assertEquals(Arrays.asList(3, 2), values);
+            assertEquals(0, eventSystem.flush());
+        }
+    }
+
+    @Test
+    void coalescingEventsCanMergeTheirValues() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Integer> values = new ArrayList<>();
+            eventSystem.subscribe(ValueListener.class, values::add);
+
+            eventSystem.postCoalescing(new ValueListener.SumEvent("a", 1));
+            eventSystem.postCoalescing(new ValueListener.SumEvent("a", 2));
+            eventSystem.postCoalescing(new ValueListener.SumEvent("a", 3));
+
+            assertEquals(1, eventSystem.flush());
+            assertEquals(Collections.singletonList(6), values);
+        }
+    }
+
+    @Test
+    void eventsCoalescedDuringAFlushWaitForTheNextOne() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Integer> values = new ArrayList<>();
+            eventSystem.subscribe(ValueListener.class, value -> {
+                values.add(value);
+                if (value == 1) eventSystem.postCoalescing(new ValueListener.ValueEvent("a", 2));
+            });
+
+            eventSystem.postCoalescing(new ValueListener.ValueEvent("a", 1));
+            assertEquals(1, eventSystem.flush());
+            assertEquals(Collections.singletonList(1), values);
+
+            assertEquals(1, eventSystem.flush());
+            assertEquals(Arrays.asList(1, 2), values);
+        }
+    }
+
+    @Test
+    void deferredEventsAreDrained() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.setDeferredQueue(2, BackpressurePolicy.DROP_NEWEST);
+            final List<Integer> calls = new ArrayList<>();
+            eventSystem.subscribe(TestListener.class, event -> calls.add(event.count));
+
+            for (int i = 0; i < 3; i++) {
+                final TestListener.TestEvent event = new TestListener.TestEvent();
+                event.count = i;
+                assertEquals(i < 2, eventSystem.postDeferred(event));
+            }
+            assertTrue(calls.isEmpty());
+
+            assertEquals(2, eventSystem.drain());
+            assertEquals(Arrays.asList(0, 1), calls);
+            assertEquals(0, eventSystem.drain());
+        }
+    }
+
+    @Test
+    void fullDeferredQueuesApplyTheirPolicy() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Integer> calls = new ArrayList<>();
+            eventSystem.subscribe(TestListener.class, event -> calls.add(event.count));
+
+            eventSystem.setDeferredQueue(2, BackpressurePolicy.DROP_OLDEST);
+            for (int i = 0; i < 3; i++) {
+                final TestListener.TestEvent event = new TestListener.TestEvent();
+                event.count = i;
+                assertTrue(eventSystem.postDeferred(event));
+            }
+            eventSystem.drain();
+            assertEquals(Arrays.asList(1, 2), calls);
+
+            calls.clear();
+            eventSystem.setDeferredQueue(2, BackpressurePolicy.CALLER_RUNS);
+            for (int i = 0; i < 3; i++) {
+                final TestListener.TestEvent event = new TestListener.TestEvent();
+                event.count = i;
+                assertTrue(eventSystem.postDeferred(event));
+            }
+            assertEquals(Collections.singletonList(2), calls);
+            eventSystem.drain();
+            assertEquals(Arrays.asList(2, 0, 1), calls);
+        }
+    }
+
+    @Test
+    void deferredQueuesHoldAtLeastTwoEvents() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.setDeferredQueue(1, BackpressurePolicy.DROP_NEWEST);
+            final List<Integer> calls = new ArrayList<>();
+            eventSystem.subscribe(TestListener.class, event -> calls.add(event.count));
+
+            for (int i = 0; i < 3; i++) {
+                final TestListener.TestEvent event = new TestListener.TestEvent();
+                event.count = i;
+                assertEquals(i < 2, eventSystem.postDeferred(event));
+            }
+            assertEquals(2, eventSystem.drain());
+            assertEquals(Arrays.asList(0, 1), calls);
+        }
+    }
+
+    @Test
+    void drainStopsAtTheGivenLimit() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Integer> calls = new ArrayList<>();
+            eventSystem.subscribe(TestListener.class, event -> calls.add(event.count));
+            for (int i = 0; i < 3; i++) {
+                final TestListener.TestEvent event = new TestListener.TestEvent();
+                event.count = i;
+                eventSystem.postDeferred(event);
+            }
+
+            assertEquals(2, eventSystem.drain(2, TimeUnit.SECONDS.toNanos(10)));
+            assertEquals(Arrays.asList(0, 1), calls);
+            assertEquals(1, eventSystem.drain(2, TimeUnit.SECONDS.toNanos(10)));
+        }
+    }
+
+    @Test
+    void postParallelCallsIndependentListeners() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+            eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(event -> calls.add("a"), Priorities.NONE).setIndependent(true));
+            eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(event -> calls.add("b"), Priorities.NONE).setIndependent(true));
+            eventSystem.subscribe(TestListener.class, event -> calls.add("c"));
+
+            eventSystem.postParallel(new TestListener.TestEvent());
+            assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(calls));
+            assertEquals(3, calls.size());
+        }
+    }
+
+    @Test
+    void parallelGroupsAreCalledInPriorityOrder() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+                eventSystem.setParallelPool(pool);
+                final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+                eventSystem.subscribe(TestListener.class, event -> calls.add("first"), Priorities.HIGHEST);
+                eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(event -> calls.add("a"), Priorities.HIGH).setIndependent(true));
+                eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(event -> calls.add("b"), Priorities.HIGH).setIndependent(true));
+                eventSystem.subscribe(TestListener.class, event -> calls.add("last"), Priorities.LOW);
+
+                eventSystem.postParallel(new TestListener.TestEvent());
+                assertEquals("first", calls.get(0));
+                assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(calls.subList(1, 3)));
+                assertEquals("last", calls.get(3));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void postParallelWithoutIndependentListenersPostsNormally() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribe(TestListener.class, recording("first"), Priorities.HIGH);
+            eventSystem.subscribe(TestListener.class, recording("second"));
+
+            assertEquals(Arrays.asList("first", "second"), eventSystem.postParallel(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void customSortCallbackIsCalledOnSubscribe() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final int[] calls = new int[1];
+            eventSystem.setSortCallback((subscriptions, priorityOrder) -> {
+                calls[0]++;
+                subscriptions.sort(priorityOrder);
+            });
+            eventSystem.subscribe(TestListener.class, recording("low"), Priorities.LOW);
+            eventSystem.subscribe(TestListener.class, recording("high"), Priorities.HIGH);
+
+            assertEquals(2, calls[0]);
+            assertEquals(Arrays.asList("high", "low"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void rejectedAsyncEventsFailTheirFuture() throws Exception {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+            eventSystem.subscribe(TestListener.class, event -> calls.add(event.calls.get(0)));
+            eventSystem.setAsyncExecutor(task -> {
+                throw new RejectedExecutionException("shut down");
+            });
+
+            final TestListener.TestEvent rejected = new TestListener.TestEvent();
+            rejected.calls.add("rejected");
+            final CompletableFuture<TestListener.TestEvent> future = eventSystem.postAsync(rejected);
+            assertTrue(future.isCompletedExceptionally());
+
+            eventSystem.setAsyncExecutor(Runnable::run);
+            final TestListener.TestEvent accepted = new TestListener.TestEvent();
+            accepted.calls.add("accepted");
+            eventSystem.postAsync(accepted).get(10, TimeUnit.SECONDS);
+            assertEquals(Collections.singletonList("accepted"), calls);
+        }
+    }
+
+
+    @Test
+    void rejectedAsyncListenersReportToTheErrorHandler() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Throwable> errors = new ArrayList<>();
+            eventSystem.setErrorHandler(errors::add);
+            eventSystem.setAsyncExecutor(task -> {
+                throw new RejectedExecutionException("shut down");
+            });
+            final TestListener async = recording("async");
+            eventSystem.subscribeInternal(TestListener.class, new Subscription<>(async, Priorities.NONE).setAsync(true));
+
+            assertTrue(eventSystem.post(new TestListener.TestEvent()).calls.isEmpty());
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    void drainingThreadDoesntBlockOnAFullQueue() throws InterruptedException {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.setDeferredQueue(2, BackpressurePolicy.BLOCK);
+            final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+            eventSystem.subscribe(TestListener.class, event -> {
+                calls.add("test");
+                for (int i = 0; i < 3; i++) {
+                    eventSystem.postDeferred(new OtherListener.OtherEvent());
+                }
+            });
+            eventSystem.subscribe(OtherListener.class, () -> calls.add("other"));
+            eventSystem.postDeferred(new TestListener.TestEvent());
+
+            final Thread owner = new Thread(eventSystem::drain);
+            owner.setDaemon(true);
+            owner.start();
+            owner.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(owner.isAlive());
+
+            // The third event didn't fit into the queue and has been posted directly, the drain continued with the first queued one
+            assertEquals(Arrays.asList("test", "other", "other"), calls);
+            assertEquals(1, eventSystem.drain());
+            assertEquals(Arrays.asList("test", "other", "other", "other"), calls);
+        }
+    }
+
+    @Test
+    void ownerThreadDoesntBlockOnAFullQueueOutsideOfDrain() throws InterruptedException {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.setDeferredQueue(2, BackpressurePolicy.BLOCK);
+            final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+            eventSystem.subscribe(OtherListener.class, () -> calls.add("other"));
+
+            final Thread owner = new Thread(() -> {
+                eventSystem.drain();
+                // The owner isn't draining at the moment, but waiting for itself would still never end
+                for (int i = 0; i < 3; i++) {
+                    eventSystem.postDeferred(new OtherListener.OtherEvent());
+                }
+            });
+            owner.setDaemon(true);
+            owner.start();
+            owner.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(owner.isAlive());
+
+            assertEquals(Collections.singletonList("other"), calls);
+            assertEquals(2, eventSystem.drain());
+            assertEquals(Arrays.asList("other", "other", "other"), calls);
+        }
+    }
+
+    @Test
+    void concurrentSubscribeClassKeepsTheIndexConsistent() throws InterruptedException {
+        final DietrichEvents eventSystem = DietrichEvents.createThreadSafe();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 2_000; j++) {
+                    final Both both = new Both();
+                    eventSystem.subscribeClass(both);
+                    eventSystem.subscribeClassWeak(both);
+                    eventSystem.unsubscribeClass(both);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(eventSystem.hasSubscribers(TestListener.class));
+        assertFalse(eventSystem.hasSubscribers(OtherListener.class));
+    }
+
+    public interface OtherListener extends Listener {
+
+        void onOther();
+
+        class OtherEvent extends AbstractEvent<OtherListener> {
+
+            @Override
+            public void call(OtherListener listener) {
+                listener.onOther();
+            }
+
+            @Override
+            public Class<OtherListener> getListenerType() {
+                return OtherListener.class;
+            }
+
+        }
+
+    }
+
+    public static class Both implements TestListener, OtherListener {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void onTest(TestEvent event) {
+            this.calls.add("test");
+        }
+
+        @Override
+        public void onOther() {
+            this.calls.add("other");
+        }
+
+    }
+
+    @Test
+    void subscribeClassFindsInterfacesOfSuperclasses() {
+        assertEquals(Arrays.asList(TestListener.class, OtherListener.class), ListenerTypes.get(Inherited.class));
+
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Inherited inherited = new Inherited();
+            eventSystem.subscribeClass(inherited);
+            eventSystem.post(new TestListener.TestEvent());
+            eventSystem.post(new OtherListener.OtherEvent());
+            assertEquals(Arrays.asList("test", "other"), ((Both) inherited).calls);
+
+            eventSystem.unsubscribeClass(inherited);
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+            assertFalse(eventSystem.hasSubscribers(OtherListener.class));
+        }
+    }
+
+    @Test
+    void subscribeClassFindsSuperInterfacesOfListenerTypes() {
+        assertEquals(Arrays.asList(Combined.class, TestListener.class, OtherListener.class), ListenerTypes.get(ViaSuperInterface.class));
+
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final ViaSuperInterface listener = new ViaSuperInterface();
+            eventSystem.subscribeClass(listener);
+            eventSystem.post(new TestListener.TestEvent());
+            eventSystem.post(new OtherListener.OtherEvent());
+            assertEquals(Arrays.asList("test", "other"), listener.calls);
+
+            eventSystem.unsubscribeClass(listener);
+            assertFalse(eventSystem.hasSubscribers(Combined.class));
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+            assertFalse(eventSystem.hasSubscribers(OtherListener.class));
+        }
+    }
+
+    public interface BreakListener extends Listener {
+
+        void onBreak(final BreakEvent event);
+
+        class BreakEvent extends BreakableEvent<BreakListener> {
+
+            private final List<String> calls = new ArrayList<>();
+            private boolean abort;
+
+            @Override
+            public void call(BreakListener listener) {
+                listener.onBreak(this);
+            }
+
+            @Override
+            public Class<BreakListener> getListenerType() {
+                return BreakListener.class;
+            }
+
+        }
+
+    }
+
+    public interface CancelListener extends Listener {
+
+        void onCancel(final CancelEvent event);
+
+        class CancelEvent extends CancellableEvent<CancelListener> {
+
+            private final List<String> calls = new ArrayList<>();
+
+            @Override
+            public void call(CancelListener listener) {
+                listener.onCancel(this);
+            }
+
+            @Override
+            public Class<CancelListener> getListenerType() {
+                return CancelListener.class;
+            }
+
+        }
+
+    }
+
+    public static class Inherited extends Both {
+    }
+
+    public interface Combined extends TestListener, OtherListener {
+    }
+
+    public static class ViaSuperInterface implements Combined {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void onTest(TestEvent event) {
+            this.calls.add("test");
+        }
+
+        @Override
+        public void onOther() {
+            this.calls.add("other");
+        }
+
+    }
+
+    public interface PhaseListener extends Listener {
+
+        void onPhase(final EventStateType stateType);
+
+        class PhaseEvent extends AbstractEvent<PhaseListener> {
+
+            private final EventStateType stateType;
+
+            public PhaseEvent(final EventStateType stateType) {
+                this.stateType = stateType;
+            }
+
+            @Override
+            public int getRoutingKey() {
+                return stateType.ordinal();
+            }
+
+            @Override
+            public void call(PhaseListener listener) {
+                listener.onPhase(stateType);
+            }
+
+            @Override
+            public Class<PhaseListener> getListenerType() {
+                return PhaseListener.class;
+            }
+
+        }
+
+    }
+
+    public interface ValueListener extends Listener {
+
+        void onValue(final int value);
+
+        class ValueEvent extends CoalescingEvent<ValueListener> {
+
+            private final String key;
+            protected final int value;
+
+            public ValueEvent(final String key, final int value) {
+                this.key = key;
+                this.value = value;
+            }
+
+            @Override
+            public Object getCoalescingKey() {
+                return key;
+            }
+
+            @Override
+            public void call(ValueListener listener) {
+                listener.onValue(value);
+            }
+
+            @Override
+            public Class<ValueListener> getListenerType() {
+                return ValueListener.class;
+            }
+
+        }
+
+        class SumEvent extends ValueEvent {
+
+            public SumEvent(final String key, final int value) {
+                super(key, value);
+            }
+
+            @Override
+            public CoalescingEvent<ValueListener> merge(final CoalescingEvent<ValueListener> previous) {
+                return new SumEvent((String) getCoalescingKey(), ((SumEvent) previous).value + value);
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.Priorities;
+import de.florianmichael.dietrichevents.enums.WaitStrategy;
+import de.florianmichael.dietrichevents.handle.Subscription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventPipelineTest {
+
+    private static final int PRODUCERS = 2;
+    private static final int EVENTS = 2_000;
+
+    @Test
+    @Timeout(60)
+    void stagesSeeEveryEventInOrder() throws InterruptedException {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            final List<Integer> handled = new ArrayList<>();
+            final int[] unprepared = new int[1];
+            final EventPipeline<TestListener.TestEvent> pipeline = new EventPipeline<>(TestListener.TestEvent::new, 8, waitStrategy, Arrays.<Consumer<? super TestListener.TestEvent>>asList(
+                    event -> event.calls.add("prepared"),
+                    event -> {
+                        if (!event.calls.equals(Arrays.asList("produced", "prepared"))) unprepared[0]++;
+                        handled.add(event.count);
+                    }
+            ));
+            pipeline.start();
+
+            final Thread[] producers = new Thread[PRODUCERS];
+            for (int i = 0; i < PRODUCERS; i++) {
+                final int producer = i;
+                producers[i] = new Thread(() -> {
+                    for (int j = 0; j < EVENTS; j++) {
+                        final int count = producer * EVENTS + j;
+                        pipeline.publish(event -> {
+                            event.calls.add("produced");
+                            event.count = count;
+                        });
+                    }
+                });
+                producers[i].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            pipeline.stop();
+
+            assertEquals(0, unprepared[0], waitStrategy + " handed over events before the previous stage");
+            assertEquals(PRODUCERS * EVENTS, handled.size());
+            final int[] expected = new int[PRODUCERS];
+            for (int count : handled) {
+                final int producer = count / EVENTS;
+                assertEquals(producer * EVENTS + expected[producer]++, count);
+            }
+        }
+    }
+
+    @Test
+    void theLastStageResetsTheEvents() throws InterruptedException {
+        final DietrichEvents eventSystem = DietrichEvents.createDefault();
+        final List<Integer> counts = new ArrayList<>();
+        eventSystem.subscribe(TestListener.class, event -> counts.add(event.count + event.calls.size()));
+        final EventPipeline<TestListener.TestEvent> pipeline = new EventPipeline<>(eventSystem, TestListener.TestEvent::new, 1, WaitStrategy.PARK);
+        pipeline.start();
+
+        pipeline.publish(event -> {
+            event.calls.add("first");
+            event.count = 1;
+        });
+        pipeline.publish(event -> event.count = 10);
+        pipeline.stop();
+
+        assertEquals(Arrays.asList(2, 10), counts);
+    }
+
+    @Test
+    @Timeout(60)
+    void asyncListenersDontReceivePipelinedEvents() throws InterruptedException {
+        final DietrichEvents eventSystem = DietrichEvents.createThreadSafe();
+        final AtomicInteger tasks = new AtomicInteger();
+        eventSystem.setAsyncExecutor(task -> tasks.incrementAndGet());
+        final AtomicInteger errors = new AtomicInteger();
+        eventSystem.setErrorHandler(e -> {
+            if (e instanceof IllegalStateException) errors.incrementAndGet();
+        });
+        final int[] handled = new int[1];
+        final int[] reset = new int[1];
+        eventSystem.subscribe(TestListener.class, event -> {
+            if (!event.calls.equals(Collections.singletonList("produced"))) reset[0]++;
+            handled[0]++;
+        });
+        eventSystem.subscribeInternal(TestListener.class, new Subscription<TestListener>(event -> {
+        }, Priorities.NONE).setAsync(true));
+        final EventPipeline<TestListener.TestEvent> pipeline = new EventPipeline<>(eventSystem, TestListener.TestEvent::new, 8, WaitStrategy.YIELD);
+        pipeline.start();
+
+        final Thread[] producers = new Thread[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < EVENTS; j++) {
+                    pipeline.publish(event -> event.calls.add("produced"));
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pipeline.stop();
+
+        assertEquals(PRODUCERS * EVENTS, handled[0]);
+        assertEquals(0, reset[0]);
+        // The last stage resets the events right after posting them, so none of them must be handed to the asynchronous listener
+        assertEquals(0, tasks.get());
+        assertEquals(PRODUCERS * EVENTS, errors.get());
+    }
+
+}
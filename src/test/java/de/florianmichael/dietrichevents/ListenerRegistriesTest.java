@@ -0,0 +1,136 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.ListenerRegistry;
+import de.florianmichael.dietrichevents.handle.MethodBinding;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The test sources are compiled with the annotation processor, see testAnnotationProcessor in build.gradle.
+ */
+class ListenerRegistriesTest {
+
+    @Test
+    void generatedRegistriesListTheListenerTypesInRuntimeOrder() {
+        final ListenerRegistry<?> registry = ListenerRegistries.get(ListenerWatchdogTest.Both.class);
+        assertNotNull(registry);
+        assertEquals(Arrays.asList(TestListener.class, ListenerWatchdogTest.SecondListener.class), registry.getListenerTypes());
+        assertSame(registry.getListenerTypes(), ListenerTypes.get(ListenerWatchdogTest.Both.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatedRegistriesBindTheAnnotatedMethods() {
+        final ListenerRegistry<SubscribeMethodsTest.Overloads> registry = (ListenerRegistry<SubscribeMethodsTest.Overloads>) ListenerRegistries.get(SubscribeMethodsTest.Overloads.class);
+        assertNotNull(registry);
+        final List<MethodBinding<SubscribeMethodsTest.Overloads>> bindings = registry.getMethodBindings();
+        assertEquals(2, bindings.size());
+        // In the order of the declared methods
+        assertSame(SubscribeMethodsTest.NameListener.class, bindings.get(0).getListenerType());
+        assertSame(TestListener.class, bindings.get(1).getListenerType());
+
+        final SubscribeMethodsTest.Overloads overloads = new SubscribeMethodsTest.Overloads();
+        for (MethodBinding<SubscribeMethodsTest.Overloads> binding : bindings) {
+            final Listener listener = binding.bind(overloads);
+            if (binding.getListenerType() == SubscribeMethodsTest.NameListener.class) {
+                new SubscribeMethodsTest.NameEvent("name").call((SubscribeMethodsTest.NameListener) listener);
+            }
+        }
+        assertEquals(Collections.singletonList("object name"), overloads.calls);
+    }
+
+    @Test
+    void innerAndGenericClassesHaveRegistries() {
+        assertNotNull(ListenerRegistries.get(SubscribeMethodsTest.Inner.class));
+        assertNotNull(ListenerRegistries.get(SubscribeMethodsTest.Generic.class));
+        assertEquals(1, ListenerRegistries.get(SubscribeMethodsTest.Generic.class).getMethodBindings().size());
+    }
+
+    @Test
+    void inaccessibleClassesFallBackToReflection() {
+        // Neither the private class nor the private method can be accessed from a generated class
+        assertNull(ListenerRegistries.get(PrivateListener.class));
+        assertNull(ListenerRegistries.get(SubscribeMethodsTest.PrivateMethods.class));
+
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            eventSystem.subscribeClass(new PrivateListener());
+            assertEquals(Collections.singletonList("private"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void registriesWhichCantBeUsedAreIgnored() {
+        assertNull(ListenerRegistries.get(NoRegistry.class));
+        assertNull(ListenerRegistries.get(StaleRegistry.class));
+        assertTrue(ListenerTypes.get(StaleRegistry.class).isEmpty());
+        assertTrue(MethodListeners.get(StaleRegistry.class).isEmpty());
+    }
+
+    private static class PrivateListener implements TestListener {
+
+        @Override
+        public void onTest(TestEvent event) {
+            event.calls.add("private");
+        }
+
+    }
+
+    public static class NoRegistry {
+
+        /**
+         * Has the name of a registry, but doesn't implement {@link de.florianmichael.dietrichevents.handle.ListenerRegistry}.
+         */
+        public static class DietrichEventsRegistry {
+        }
+
+    }
+
+    public static class StaleRegistry {
+
+        /**
+         * Can't be created by {@link de.florianmichael.dietrichevents.ListenerRegistries}, like a registry of an older version of the class.
+         */
+        public static class DietrichEventsRegistry implements ListenerRegistry<StaleRegistry> {
+
+            private DietrichEventsRegistry() {
+            }
+
+            @Override
+            public List<Class<? extends Listener>> getListenerTypes() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<MethodBinding<StaleRegistry>> getMethodBindings() {
+                throw new UnsupportedOperationException();
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.QuarantineAction;
+import de.florianmichael.dietrichevents.handle.Listener;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListenerWatchdogTest {
+
+    @Test
+    void movedListenersStaySynchronousForOtherListenerTypes() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Runnable> tasks = new ArrayList<>();
+            eventSystem.setAsyncExecutor(tasks::add);
+            final Both both = new Both();
+            eventSystem.subscribeClass(both);
+
+            eventSystem.moveToAsync(TestListener.class, both);
+            // Republishes the other listener type of the listener
+            eventSystem.subscribe(SecondListener.class, () -> {
+            });
+
+            eventSystem.post(new TestListener.TestEvent());
+            eventSystem.post(new SecondEvent());
+            assertEquals(Collections.singletonList("second"), both.calls);
+
+            tasks.forEach(Runnable::run);
+            assertEquals(Arrays.asList("second", "test"), both.calls);
+        }
+    }
+
+    @Test
+    void violationsDontKeepListenersReachable() throws InterruptedException {
+        final ListenerWatchdog watchdog = new ListenerWatchdog(1, TimeUnit.MILLISECONDS, report -> {
+        });
+        TestListener listener = TestListener.recording("listener");
+        final WeakReference<TestListener> reference = new WeakReference<>(listener);
+        watchdog.onListener(TestListener.class, listener, TimeUnit.SECONDS.toNanos(1));
+
+        listener = null;
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    void slowListenersAreReportedAfterMaxViolations() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<ListenerWatchdog.Report> reports = new ArrayList<>();
+            final ListenerWatchdog watchdog = new ListenerWatchdog(100, TimeUnit.MICROSECONDS, reports::add);
+            watchdog.setMaxViolations(2);
+            eventSystem.setWatchdog(watchdog);
+            final TestListener slow = sleeping("slow");
+            eventSystem.subscribe(TestListener.class, slow);
+            eventSystem.subscribe(TestListener.class, TestListener.recording("fast"));
+
+            eventSystem.post(new TestListener.TestEvent());
+            assertTrue(reports.isEmpty());
+
+            final TestListener.TestEvent event = eventSystem.post(new TestListener.TestEvent());
+            assertEquals(1, reports.size());
+            final ListenerWatchdog.Report report = reports.get(0);
+            assertSame(slow, report.getListener());
+            assertSame(TestListener.class, report.getListenerType());
+            assertEquals(2, report.getViolations());
+            assertTrue(report.getNanos() >= TimeUnit.MILLISECONDS.toNanos(2));
+            assertSame(QuarantineAction.NONE, report.getQuarantineAction());
+            // Only reported, the listener stays subscribed
+            assertEquals(Arrays.asList("slow", "fast"), event.calls);
+        }
+    }
+
+    @Test
+    void listenerTypeBudgetsOverrideTheDefaultBudget() {
+        final List<ListenerWatchdog.Report> reports = new ArrayList<>();
+        final ListenerWatchdog watchdog = new ListenerWatchdog(100, TimeUnit.MICROSECONDS, reports::add);
+        watchdog.setMaxViolations(1);
+        watchdog.setBudget(TestListener.class, 1, TimeUnit.MINUTES);
+        final DietrichEvents eventSystem = DietrichEvents.createDefault();
+        eventSystem.setWatchdog(watchdog);
+        eventSystem.subscribe(TestListener.class, sleeping("slow"));
+
+        eventSystem.post(new TestListener.TestEvent());
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    void unsubscribeQuarantineRemovesTheSlowListener() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<ListenerWatchdog.Report> reports = new ArrayList<>();
+            final ListenerWatchdog watchdog = new ListenerWatchdog(100, TimeUnit.MICROSECONDS, reports::add);
+            watchdog.setMaxViolations(1);
+            watchdog.setQuarantineAction(QuarantineAction.UNSUBSCRIBE);
+            eventSystem.setWatchdog(watchdog);
+            eventSystem.subscribe(TestListener.class, sleeping("slow"));
+            eventSystem.subscribe(TestListener.class, TestListener.recording("fast"));
+
+            eventSystem.post(new TestListener.TestEvent());
+            assertEquals(1, reports.size());
+            assertSame(QuarantineAction.UNSUBSCRIBE, reports.get(0).getQuarantineAction());
+
+            assertEquals(Collections.singletonList("fast"), eventSystem.post(new TestListener.TestEvent()).calls);
+            assertEquals(1, reports.size());
+        }
+    }
+
+    @Test
+    void asyncQuarantineMovesTheSlowListenerToTheAsyncLane() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final List<Runnable> tasks = new ArrayList<>();
+            eventSystem.setAsyncExecutor(tasks::add);
+            final List<ListenerWatchdog.Report> reports = new ArrayList<>();
+            final ListenerWatchdog watchdog = new ListenerWatchdog(100, TimeUnit.MICROSECONDS, reports::add);
+            watchdog.setMaxViolations(1);
+            watchdog.setQuarantineAction(QuarantineAction.ASYNC);
+            eventSystem.setWatchdog(watchdog);
+            eventSystem.subscribe(TestListener.class, sleeping("slow"));
+            eventSystem.subscribe(TestListener.class, TestListener.recording("fast"));
+
+            eventSystem.post(new TestListener.TestEvent());
+            assertEquals(1, reports.size());
+            assertSame(QuarantineAction.ASYNC, reports.get(0).getQuarantineAction());
+
+            final TestListener.TestEvent event = eventSystem.post(new TestListener.TestEvent());
+            assertEquals(Collections.singletonList("fast"), event.calls);
+            assertEquals(1, tasks.size());
+            tasks.forEach(Runnable::run);
+            assertEquals(Arrays.asList("fast", "slow"), event.calls);
+        }
+    }
+
+    /**
+     * @param name The name to record
+     * @return A listener which takes at least two milliseconds and records the given name in the calls of the event
+     */
+    private static TestListener sleeping(final String name) {
+        return event -> {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            event.calls.add(name);
+        };
+    }
+
+    public interface SecondListener extends Listener {
+
+        void onSecond();
+
+    }
+
+    public static class SecondEvent extends AbstractEvent<SecondListener> {
+
+        @Override
+        public void call(SecondListener listener) {
+            listener.onSecond();
+        }
+
+        @Override
+        public Class<SecondListener> getListenerType() {
+            return SecondListener.class;
+        }
+
+    }
+
+    public static class Both implements TestListener, SecondListener {
+
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onTest(TestEvent event) {
+            this.calls.add("test");
+        }
+
+        @Override
+        public void onSecond() {
+            this.calls.add("second");
+        }
+
+    }
+
+}
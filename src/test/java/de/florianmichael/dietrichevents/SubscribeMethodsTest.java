@@ -0,0 +1,260 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.enums.Priorities;
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.handle.Subscribe;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscribeMethodsTest {
+
+    @Test
+    void annotatedMethodsAreSubscribedWithTheirPriority() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Handlers handlers = new Handlers();
+            eventSystem.subscribeMethods(handlers);
+
+            assertEquals(Arrays.asList("high", "low"), eventSystem.post(new TestListener.TestEvent()).calls);
+            eventSystem.post(new NameEvent("name"));
+            assertEquals(Collections.singletonList("name"), handlers.names);
+
+            eventSystem.unsubscribeMethods(handlers);
+            assertTrue(eventSystem.post(new TestListener.TestEvent()).calls.isEmpty());
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+            assertFalse(eventSystem.hasSubscribers(NameListener.class));
+        }
+    }
+
+    @Test
+    void unsubscribingRemovesTheMethodsOfEverySubscribeCall() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Handlers handlers = new Handlers();
+            final Handlers other = new Handlers();
+            eventSystem.subscribeMethods(handlers);
+            eventSystem.subscribeMethods(handlers);
+            eventSystem.subscribeMethods(other);
+            assertEquals(Arrays.asList("high", "high", "high", "low", "low", "low"), eventSystem.post(new TestListener.TestEvent()).calls);
+
+            eventSystem.unsubscribeMethods(handlers);
+            assertEquals(Arrays.asList("high", "low"), eventSystem.post(new TestListener.TestEvent()).calls);
+            eventSystem.post(new NameEvent("name"));
+            assertTrue(handlers.names.isEmpty());
+            assertEquals(Collections.singletonList("name"), other.names);
+        }
+    }
+
+    @Test
+    void overloadedMethodsAreBoundExactly() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Overloads overloads = new Overloads();
+            eventSystem.subscribeMethods(overloads);
+
+            eventSystem.post(new NameEvent("name"));
+            // on(String) is the most specific overload for a String, but only on(Object) is annotated
+            assertEquals(Collections.singletonList("object name"), overloads.calls);
+            assertEquals(Collections.singletonList("event"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void privateMethodsNeedALookupOfTheirClass() {
+        final DietrichEvents defaultLookup = DietrichEvents.createDefault();
+        assertThrows(IllegalArgumentException.class, () -> defaultLookup.subscribeMethods(new PrivateMethods()));
+        assertFalse(defaultLookup.hasSubscribers(TestListener.class));
+
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final PrivateMethods privateMethods = new PrivateMethods();
+            eventSystem.subscribeMethods(privateMethods, PrivateMethods.LOOKUP);
+            assertEquals(Collections.singletonList("private"), eventSystem.post(new TestListener.TestEvent()).calls);
+            eventSystem.unsubscribeMethods(privateMethods);
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+        }
+    }
+
+    @Test
+    void overriddenMethodsAreOnlyBoundOnce() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Derived derived = new Derived();
+            eventSystem.subscribeMethods(derived);
+
+            assertEquals(Collections.singletonList("derived"), eventSystem.post(new TestListener.TestEvent()).calls);
+            eventSystem.post(new NameEvent("name"));
+            assertEquals(Collections.singletonList("name"), derived.names);
+        }
+    }
+
+    @Test
+    void innerAndGenericClassesAreSubscribed() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Inner inner = new Inner("inner");
+            final Generic<String> generic = new Generic<>();
+            eventSystem.subscribeMethods(inner);
+            eventSystem.subscribeMethods(generic);
+
+            assertEquals(Collections.singletonList("inner"), eventSystem.post(new TestListener.TestEvent()).calls);
+            eventSystem.post(new NameEvent("name"));
+            assertEquals(Collections.singletonList("name"), generic.values);
+
+            eventSystem.unsubscribeMethods(inner);
+            eventSystem.unsubscribeMethods(generic);
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+            assertFalse(eventSystem.hasSubscribers(NameListener.class));
+        }
+    }
+
+    public interface NameListener extends Listener {
+
+        void onName(final String name);
+
+    }
+
+    public static class NameEvent extends AbstractEvent<NameListener> {
+
+        private final String name;
+
+        public NameEvent(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void call(NameListener listener) {
+            listener.onName(this.name);
+        }
+
+        @Override
+        public Class<NameListener> getListenerType() {
+            return NameListener.class;
+        }
+
+    }
+
+    public static class Handlers {
+
+        private final List<String> names = new ArrayList<>();
+
+        @Subscribe(value = TestListener.class, priority = Priorities.LOW)
+        public void low(final TestListener.TestEvent event) {
+            event.calls.add("low");
+        }
+
+        @Subscribe(value = TestListener.class, priority = Priorities.HIGH)
+        public void high(final TestListener.TestEvent event) {
+            event.calls.add("high");
+        }
+
+        @Subscribe(NameListener.class)
+        public void onName(final String name) {
+            this.names.add(name);
+        }
+
+    }
+
+    public static class Overloads {
+
+        final List<String> calls = new ArrayList<>();
+
+        @Subscribe(NameListener.class)
+        public void on(final Object name) {
+            this.calls.add("object " + name);
+        }
+
+        public void on(final String name) {
+            this.calls.add("string " + name);
+        }
+
+        @Subscribe(TestListener.class)
+        public void on(final TestListener.TestEvent event) {
+            event.calls.add("event");
+        }
+
+    }
+
+    public static class PrivateMethods {
+
+        private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+        @Subscribe(TestListener.class)
+        private void onTest(final TestListener.TestEvent event) {
+            event.calls.add("private");
+        }
+
+    }
+
+    public static class Base {
+
+        protected final List<String> names = new ArrayList<>();
+
+        @Subscribe(TestListener.class)
+        public void onTest(final TestListener.TestEvent event) {
+            event.calls.add("base");
+        }
+
+        @Subscribe(NameListener.class)
+        public void onName(final String name) {
+            this.names.add(name);
+        }
+
+    }
+
+    public static class Derived extends Base {
+
+        @Override
+        @Subscribe(TestListener.class)
+        public void onTest(final TestListener.TestEvent event) {
+            event.calls.add("derived");
+        }
+
+    }
+
+    public class Inner {
+
+        private final String name;
+
+        public Inner(final String name) {
+            this.name = name;
+        }
+
+        @Subscribe(TestListener.class)
+        public void onTest(final TestListener.TestEvent event) {
+            event.calls.add(this.name);
+        }
+
+    }
+
+    public static class Generic<T extends CharSequence> {
+
+        private final List<T> values = new ArrayList<>();
+
+        @Subscribe(NameListener.class)
+        public void onValue(final T value) {
+            this.values.add(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import de.florianmichael.dietrichevents.handle.Listener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public interface TestListener extends Listener {
+
+    void onTest(final TestEvent event);
+
+    /**
+     * @return A default and a thread safe event system, every behaviour test runs against both modes
+     */
+    static List<DietrichEvents> eventSystems() {
+        return Arrays.asList(DietrichEvents.createDefault(), DietrichEvents.createThreadSafe());
+    }
+
+    /**
+     * @param name The name to record
+     * @return A listener which records the given name in the calls of the event
+     */
+    static TestListener recording(final String name) {
+        return event -> event.calls.add(name);
+    }
+
+    class TestEvent extends AbstractEvent<TestListener> {
+
+        public final List<String> calls = new ArrayList<>();
+        public int count;
+
+        @Override
+        public void reset() {
+            super.reset();
+            this.calls.clear();
+            this.count = 0;
+        }
+
+        @Override
+        public void call(TestListener listener) {
+            listener.onTest(this);
+        }
+
+        @Override
+        public Class<TestListener> getListenerType() {
+            return TestListener.class;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static de.florianmichael.dietrichevents.TestListener.recording;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeakSubscriptionTest {
+
+    @Test
+    void collectedListenersArePurged() throws InterruptedException {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            TestListener listener = recording("weak");
+            final WeakReference<TestListener> reference = new WeakReference<>(listener);
+            eventSystem.subscribeWeak(TestListener.class, listener);
+            assertEquals(Collections.singletonList("weak"), eventSystem.post(new TestListener.TestEvent()).calls);
+
+            listener = null;
+            // The reference is enqueued asynchronously after being cleared
+            for (int i = 0; i < 100 && eventSystem.hasSubscribers(TestListener.class); i++) {
+                System.gc();
+                Thread.sleep(10);
+                eventSystem.purge();
+            }
+            assertNull(reference.get());
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+        }
+    }
+
+    @Test
+    void unsubscribeClassRemovesWeakListenersFromAllTypes() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Both both = new Both();
+            final TestListener other = recording("other");
+            eventSystem.subscribeClassWeak(both);
+            eventSystem.subscribeWeak(TestListener.class, other);
+            eventSystem.subscribe(TestListener.class, recording("strong"));
+
+            eventSystem.unsubscribeClass(both);
+
+            assertFalse(eventSystem.hasSubscribers(SecondListener.class));
+            assertEquals(Arrays.asList("other", "strong"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void unsubscribeClassOfStrongListenerKeepsWeakListeners() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final TestListener listener = recording("listener");
+            eventSystem.subscribeWeak(TestListener.class, listener);
+            eventSystem.subscribe(TestListener.class, recording("strong"));
+
+            eventSystem.unsubscribeClass(recording("unrelated"));
+
+            assertEquals(Arrays.asList("listener", "strong"), eventSystem.post(new TestListener.TestEvent()).calls);
+        }
+    }
+
+    @Test
+    void weakListenersCanBeResubscribedAfterUnsubscribe() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final Both both = new Both();
+            eventSystem.subscribeClassWeak(both);
+            eventSystem.unsubscribe(TestListener.class, both);
+            eventSystem.unsubscribe(SecondListener.class, both);
+            eventSystem.subscribeWeak(TestListener.class, both);
+            eventSystem.subscribeWeak(SecondListener.class, both);
+
+            eventSystem.unsubscribeClass(both);
+
+            assertFalse(eventSystem.hasSubscribers(TestListener.class));
+            assertFalse(eventSystem.hasSubscribers(SecondListener.class));
+        }
+    }
+
+    public interface SecondListener extends de.florianmichael.dietrichevents.handle.Listener {
+
+        void onSecond();
+
+    }
+
+    public static class Both implements TestListener, SecondListener {
+
+        @Override
+        public void onTest(final TestEvent event) {
+            event.calls.add("both");
+        }
+
+        @Override
+        public void onSecond() {
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.florianmichael.dietrichevents.handle;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubscriptionTest {
+
+    @Test
+    void staticPrioritySupplierIsCreatedOnce() {
+        final Subscription<Object> subscription = new Subscription<>(new Object(), 5);
+
+        assertSame(subscription.getPrioritySupplier(), subscription.getPrioritySupplier());
+        assertEquals(5, subscription.getPrioritySupplier().getAsInt());
+    }
+
+    @Test
+    void dynamicPrioritySupplierIsReturned() {
+        final IntSupplier prioritySupplier = () -> 3;
+        final Subscription<Object> subscription = new Subscription<>(new Object(), prioritySupplier);
+
+        assertSame(prioritySupplier, subscription.getPrioritySupplier());
+        assertEquals(3, subscription.getPriority());
+    }
+
+    @Test
+    void requestingTheSupplierKeepsAPriorityStatic() {
+        final Subscription<Object> subscription = new Subscription<>(new Object(), 5);
+        subscription.getPrioritySupplier();
+
+        assertFalse(subscription.isDynamicPriority());
+        assertEquals(5, subscription.updatePriority());
+    }
+
+    @Test
+    void optionsCanBeSetAndClearedIndependently() {
+        final Subscription<Object> subscription = new Subscription<>(new Object()).setAsync(true).setIndependent(true).setIgnoreCancelled(true);
+        subscription.setIndependent(false);
+
+        assertTrue(subscription.isAsync());
+        assertFalse(subscription.isIndependent());
+        assertTrue(subscription.isIgnoreCancelled());
+        assertFalse(subscription.isWeak());
+        assertFalse(subscription.isDynamicPriority());
+    }
+
+    @Test
+    void copiesKeepTheListenerPriorityAndOptions() {
+        final Object listener = new Object();
+        final WeakReference<Object> reference = new WeakReference<>(listener);
+        final Subscription<Object> weak = Subscription.weak(reference, 2).setAsync(true).setRoutingKey(4);
+        final Subscription<Object> weakCopy = weak.copy();
+
+        assertNotSame(weak, weakCopy);
+        assertTrue(weakCopy.isWeak());
+        assertSame(reference, weakCopy.getReference());
+        assertSame(listener, weakCopy.getListenerType());
+        assertEquals(2, weakCopy.getPriority());
+        assertTrue(weakCopy.isAsync());
+        assertEquals(4, weakCopy.getRoutingKey());
+
+        final int[] priority = {1};
+        final Subscription<Object> dynamic = new Subscription<>(listener, () -> priority[0]).setIgnoreCancelled(true);
+        priority[0] = 7;
+        final Subscription<Object> dynamicCopy = dynamic.copy();
+        assertNull(dynamicCopy.getReference());
+        assertSame(listener, dynamicCopy.getListenerType());
+        assertTrue(dynamicCopy.isDynamicPriority());
+        assertTrue(dynamicCopy.isIgnoreCancelled());
+        // The copy keeps the cached priority until it is updated
+        assertEquals(1, dynamicCopy.getPriority());
+        assertEquals(7, dynamicCopy.updatePriority());
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of DietrichEvents - https://github.com/FlorianMichael/DietrichEvents
+ * Copyright (C) 2023-2024 FlorianMichael/EnZaXD <florian.michael07@gmail.com> and contributors
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.florianmichael.dietrichevents.metrics;
+
+import de.florianmichael.dietrichevents.DietrichEvents;
+import de.florianmichael.dietrichevents.TestListener;
+import de.florianmichael.dietrichevents.handle.Listener;
+import de.florianmichael.dietrichevents.types.BreakableEvent;
+import org.junit.jupiter.api.Test;
+
+import static de.florianmichael.dietrichevents.TestListener.recording;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DispatchMetricsTest {
+
+    @Test
+    void histogramUsesPowerOfTwoBuckets() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(1000);
+        histogram.record(1000);
+        assertEquals(4, histogram.getCount());
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(2));
+        assertEquals(2, histogram.getBucketCount(10));
+        assertEquals(1, histogram.getPercentile(25));
+        assertEquals(4, histogram.getPercentile(50));
+        assertEquals(1024, histogram.getPercentile(99));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    void postsAreRecordedWhileASinkIsSet() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final DispatchMetrics metrics = new DispatchMetrics();
+            final TestListener first = recording("first");
+            eventSystem.subscribe(TestListener.class, first);
+            eventSystem.setMetricsSink(metrics);
+            eventSystem.subscribe(TestListener.class, recording("second"));
+
+            assertEquals(2, eventSystem.post(new TestListener.TestEvent()).calls.size());
+            eventSystem.post(new TestListener.TestEvent());
+
+            final ListenerTypeMetrics testMetrics = metrics.getListenerTypeMetrics(TestListener.class);
+            assertEquals(TestListener.class, testMetrics.getListenerType());
+            assertEquals(2, testMetrics.getPostCount());
+            assertEquals(2, testMetrics.getLatency().getCount());
+            assertEquals(2.0, testMetrics.getAverageFanOut());
+            assertEquals(2, testMetrics.getListenerMetrics().size());
+            assertEquals(2, testMetrics.getListenerMetrics().get(first).getCallCount());
+
+            eventSystem.setMetricsSink(null);
+            eventSystem.post(new TestListener.TestEvent());
+            assertEquals(2, testMetrics.getPostCount());
+        }
+    }
+
+    @Test
+    void abortsAreRecorded() {
+        for (DietrichEvents eventSystem : TestListener.eventSystems()) {
+            final DispatchMetrics metrics = new DispatchMetrics();
+            eventSystem.setMetricsSink(metrics);
+            eventSystem.subscribe(BreakListener.class, BreakListener.BreakEvent::stopHandling);
+            eventSystem.subscribe(TestListener.class, recording("called"));
+
+            eventSystem.post(new TestListener.TestEvent());
+            eventSystem.post(new BreakListener.BreakEvent());
+            assertEquals(0, metrics.getListenerTypeMetrics(TestListener.class).getAbortCount());
+
+            final ListenerTypeMetrics breakMetrics = metrics.getListenerTypeMetrics(BreakListener.class);
+            assertEquals(1, breakMetrics.getAbortCount());
+            assertEquals(1.0, breakMetrics.getAbortRate());
+
+            metrics.reset();
+            assertNull(metrics.getListenerTypeMetrics(BreakListener.class));
+        }
+    }
+
+    public interface BreakListener extends Listener {
+
+        void onBreak(final BreakEvent event);
+
+        class BreakEvent extends BreakableEvent<BreakListener> {
+
+            @Override
+            public void call(BreakListener listener) {
+                listener.onBreak(this);
+            }
+
+            @Override
+            public Class<BreakListener> getListenerType() {
+                return BreakListener.class;
+            }
+
+        }
+
+    }
+
+}